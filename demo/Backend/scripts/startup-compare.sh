@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Startup time and RSS of the default jar against the fast-start builds.
+#
+#   ./mvnw -DskipTests package && cp target/demo-0.0.1-SNAPSHOT.jar target/default.jar
+#   ./mvnw -Pcds -DskipTests package          # AOT + CDS, in target/cds
+#   ./mvnw -Pnative native:compile            # optional, target/demo
+#   scripts/startup-compare.sh [runs]
+#
+# Needs the usual MONGODB_URI / MONGODB_DB (or .env). The warm-up is switched off so the numbers are
+# Spring startup only. Each variant is started `runs` times (default 3); ready time is Spring's
+# application.ready.time, RSS is read with ps once readiness is UP.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-3}
+PORT=${PORT:-18080}
+JAR=target/cds/demo-0.0.1-SNAPSHOT.jar
+
+variants=()
+[[ -f target/default.jar ]] && variants+=("jar|java -jar target/default.jar")
+[[ -f target/cds/application.jsa ]] && variants+=("aot+cds|java -XX:SharedArchiveFile=target/cds/application.jsa -Dspring.aot.enabled=true -jar $JAR")
+[[ -x target/demo ]] && variants+=("native|target/demo")
+if [[ ${#variants[@]} -eq 0 ]]; then
+  echo "nothing to compare; build the variants first (see header)" >&2
+  exit 1
+fi
+
+measure() {
+  local cmd=$1
+  $cmd --server.port="$PORT" --cinemate.warmup.enabled=false >/dev/null 2>&1 &
+  local pid=$!
+  for _ in $(seq 1 600); do
+    if curl -fs "http://localhost:$PORT/actuator/health/readiness" >/dev/null 2>&1; then
+      break
+    fi
+    sleep 0.1
+  done
+  local ready rss
+  ready=$(curl -fs "http://localhost:$PORT/actuator/metrics/application.ready.time" | sed -E 's/.*"value":([0-9.E-]+).*/\1/')
+  rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  awk -v r="$ready" -v m="$rss" 'BEGIN { printf "%d %d\n", r * 1000, m / 1024 }'
+}
+
+printf '%-10s %14s %10s\n' variant ready_ms rss_mb
+for v in "${variants[@]}"; do
+  name=${v%%|*}
+  cmd=${v#*|}
+  total_ms=0
+  total_mb=0
+  for _ in $(seq 1 "$RUNS"); do
+    read -r ms mb < <(measure "$cmd")
+    total_ms=$((total_ms + ms))
+    total_mb=$((total_mb + mb))
+  done
+  printf '%-10s %14d %10d\n' "$name" $((total_ms / RUNS)) $((total_mb / RUNS))
+done
@@ -0,0 +1,65 @@
+package com.example.test.demo.bench;
+
+import com.example.test.demo.Schema.User;
+import com.example.test.demo.Services.User.SessionService;
+import com.example.test.demo.Utility.Util;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request helpers on the auth path: password hashing, cookie encoding and the signed session token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestPathBenchmark {
+
+    private SessionService sessions;
+
+    private User user;
+
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        sessions = new SessionService();
+        ReflectionTestUtils.setField(sessions, "secret", "benchmark-secret-benchmark-secret");
+        ReflectionTestUtils.setField(sessions, "ttl", Duration.ofDays(7));
+        ReflectionTestUtils.setField(sessions, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(sessions, "usersMaxSize", 10_000L);
+        ReflectionTestUtils.setField(sessions, "usersTtl", Duration.ofMinutes(1));
+        sessions.init();
+
+        user = new User("Jane Doe", "9999999999", "jane@example.com", "x");
+        user.setId(new ObjectId());
+        token = sessions.issue(user);
+    }
+
+    @Benchmark
+    public String hashPassword() {
+        return Util.hashPassword("correct horse battery staple");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse addCookie() {
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        Util.addCookie(res, "name", "Jane Doe / José");
+        return res;
+    }
+
+    @Benchmark
+    public String issueSession() {
+        return sessions.issue(user);
+    }
+
+    @Benchmark
+    public Object verifySession() {
+        return sessions.verify(token);
+    }
+}
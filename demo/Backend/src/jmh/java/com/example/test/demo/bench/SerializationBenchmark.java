@@ -0,0 +1,102 @@
+package com.example.test.demo.bench;
+
+import com.example.test.demo.Config.ObjectIdSerializer;
+import com.example.test.demo.Schema.Movie;
+import com.example.test.demo.Schema.Review;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the movie detail payloads: the movie alone, and the movie together with a page
+ * of reviews (what a detail view fetches). Configured like the application's ObjectMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    private ObjectMapper mapper;
+
+    private Movie movie;
+
+    private ObjectId objectId;
+
+    // Only movieWithReviews depends on the page size, so only it runs once per @Param value.
+    @State(Scope.Benchmark)
+    public static class ReviewPage {
+
+        @Param({"0", "20", "100"})
+        public int reviews;
+
+        private Map<String, Object> movieWithReviews;
+
+        @Setup
+        public void setUp() {
+            Movie movie = sampleMovie();
+            List<Review> page = new ArrayList<>();
+            for (int i = 0; i < reviews; i++) {
+                Review r = new Review("Review body number " + i + ", long enough to look like a real comment.",
+                        new ObjectId(), "User " + i, movie.getImdbId());
+                r.setId(new ObjectId());
+                r.setCreatedAt(LocalDateTime.now());
+                r.setUpdatedAt(r.getCreatedAt());
+                page.add(r);
+            }
+            movieWithReviews = Map.of("movie", movie, "reviews", page);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        SimpleModule module = new SimpleModule();
+        module.addSerializer(ObjectId.class, new ObjectIdSerializer());
+        mapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .registerModule(module)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        movie = sampleMovie();
+        objectId = new ObjectId();
+    }
+
+    private static Movie sampleMovie() {
+        Movie movie = new Movie();
+        movie.setId(new ObjectId());
+        movie.setImdbId("tt3915174");
+        movie.setTitle("Puss in Boots: The Last Wish");
+        movie.setReleaseDate("2022-12-21");
+        movie.setTrailerLink("https://www.youtube.com/watch?v=tHb7WlgyaUc");
+        movie.setPoster("https://image.tmdb.org/t/p/w500/1NqwE6LP9IEdOZ57NCT51ftHtWT.jpg");
+        movie.setGenres(List.of("Animation", "Action", "Adventure", "Comedy", "Family"));
+        List<String> backdrops = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            backdrops.add("https://image.tmdb.org/t/p/original/backdrop" + i + ".jpg");
+        }
+        movie.setBackdrops(backdrops);
+        return movie;
+    }
+
+    @Benchmark
+    public byte[] movie() throws Exception {
+        return mapper.writeValueAsBytes(movie);
+    }
+
+    @Benchmark
+    public byte[] movieWithReviews(ReviewPage page) throws Exception {
+        return mapper.writeValueAsBytes(page.movieWithReviews);
+    }
+
+    @Benchmark
+    public byte[] objectId() throws Exception {
+        return mapper.writeValueAsBytes(objectId);
+    }
+}
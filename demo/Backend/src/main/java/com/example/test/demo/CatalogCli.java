@@ -0,0 +1,106 @@
+package com.example.test.demo;
+
+import com.example.test.demo.Services.Export.ExportService;
+import com.example.test.demo.Services.Movie.CatalogImporter;
+import com.example.test.demo.Services.Movie.ImportReport;
+import org.bson.types.ObjectId;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Command-line catalog tools, run against the same configuration as the server but without a web stack:
+ *
+ * <pre>
+ * java -Dloader.main=com.example.test.demo.CatalogCli -cp demo.jar \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher &lt;command&gt; ...
+ *
+ *   import movies.ndjson[.gz] [insert|upsert]
+ *   export movies|reviews|users out.ndjson[.gz] [after-id]
+ * </pre>
+ *
+ * Import batch size and parallelism come from cinemate.import.batch-size and cinemate.import.parallelism
+ * (e.g. --cinemate.import.parallelism=8). An export given an after-id appends to its file, so an
+ * interrupted dump is resumed with the _id of the file's last line.
+ */
+public class CatalogCli {
+
+	public static void main(String[] args) throws Exception {
+		String command = args.length > 0 ? args[0] : "";
+		if (!(command.equals("import") && args.length >= 2) && !(command.equals("export") && args.length >= 3)) {
+			System.err.println("usage: CatalogCli import <file.ndjson|file.json>[.gz] [insert|upsert] [--property=value ...]");
+			System.err.println("       CatalogCli export <movies|reviews|users> <file.ndjson>[.gz] [after-id] [--property=value ...]");
+			System.exit(2);
+		}
+
+		int status = command.equals("import") ? runImport(args) : runExport(args);
+		System.exit(status);
+	}
+
+	private static int runImport(String[] args) throws Exception {
+		CatalogImporter.Mode mode = positional(args, 2) != null
+				? CatalogImporter.Mode.valueOf(args[2].toUpperCase(Locale.ROOT))
+				: CatalogImporter.Mode.INSERT;
+		Path file = Path.of(args[1]);
+
+		ImportReport report;
+		try (ConfigurableApplicationContext ctx = context(args);
+			 InputStream in = open(file)) {
+			report = ctx.getBean(CatalogImporter.class).importMovies(in, mode);
+		}
+		System.out.println(report);
+		return report.getFailed() > 0 ? 1 : 0;
+	}
+
+	private static int runExport(String[] args) throws Exception {
+		String collection = args[1];
+		Path file = Path.of(args[2]);
+		ObjectId after = positional(args, 3) != null ? new ObjectId(args[3]) : null;
+
+		long count;
+		try (ConfigurableApplicationContext ctx = context(args);
+			 OutputStream out = create(file, after != null)) {
+			count = ctx.getBean(ExportService.class).export(collection, after, out);
+		}
+		System.out.println(count + " documents written to " + file);
+		return 0;
+	}
+
+	private static ConfigurableApplicationContext context(String[] args) {
+		return new SpringApplicationBuilder(DemoApplication.class)
+				.web(WebApplicationType.NONE)
+				.run(args);
+	}
+
+	private static String positional(String[] args, int i) {
+		return args.length > i && !args[i].startsWith("--") ? args[i] : null;
+	}
+
+	private static InputStream open(Path file) throws Exception {
+		InputStream in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+		return gzipped(file) ? new GZIPInputStream(in, 64 * 1024) : in;
+	}
+
+	// Gzip members concatenate, so appending a new member to a .gz file on resume stays readable.
+	private static OutputStream create(Path file, boolean append) throws Exception {
+		OutputStream out = new BufferedOutputStream(append
+				? Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+				: Files.newOutputStream(file), 64 * 1024);
+		return gzipped(file) ? new GZIPOutputStream(out, 64 * 1024) : out;
+	}
+
+	private static boolean gzipped(Path file) {
+		return file.toString().endsWith(".gz");
+	}
+}
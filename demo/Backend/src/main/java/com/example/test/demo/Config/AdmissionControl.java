@@ -0,0 +1,146 @@
+package com.example.test.demo.Config;
+
+import com.example.test.demo.Services.User.Session;
+import com.example.test.demo.Services.User.SessionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process admission for the write and auth routes. Each route gets a per-client {@link RateLimiter},
+ * keyed by the session's user id or else the client address; write routes also share one concurrency cap
+ * so a burst across many clients cannot queue unbounded work on Mongo. Rejections are an immediate 429
+ * with Retry-After, and every decision is counted in cinemate.admission{route,outcome}.
+ * ReactiveAdmissionControl applies the same limits on the reactive profile.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AdmissionControl {
+
+    private static final String PERMIT = AdmissionControl.class.getName() + ".permit";
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${cinemate.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cinemate.admission.writes.max-concurrent:64}")
+    private int maxConcurrentWrites;
+
+    private Semaphore writes;
+
+    @PostConstruct
+    public void init() {
+        writes = new Semaphore(maxConcurrentWrites);
+        meterRegistry.gauge("cinemate.admission.writes.in-flight", writes, s -> maxConcurrentWrites - s.availablePermits());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Limits come from cinemate.admission.<route>.rate (requests per second per client) and .burst.
+    public HandlerInterceptor route(String route, boolean write, double defaultRate, int defaultBurst) {
+        double rate = environment.getProperty("cinemate.admission." + route + ".rate", Double.class, defaultRate);
+        int burst = environment.getProperty("cinemate.admission." + route + ".burst", Integer.class, defaultBurst);
+        return new Route(route, write, new RateLimiter(rate, burst));
+    }
+
+    // Behind a reverse proxy the remote address is the client's only because server.forward-headers-strategy
+    // lets Tomcat take it from X-Forwarded-For; without that every signed-out client shares the proxy's bucket.
+    private String clientKey(HttpServletRequest request) {
+        Optional<Session> session = sessionService.session(request);
+        return session.map(s -> "u:" + s.getUserId().toHexString()).orElseGet(() -> "ip:" + request.getRemoteAddr());
+    }
+
+    private final class Route implements HandlerInterceptor {
+
+        private final boolean write;
+
+        private final RateLimiter limiter;
+
+        private final Counter admitted;
+
+        private final Counter rateLimited;
+
+        private final Counter overloaded;
+
+        Route(String name, boolean write, RateLimiter limiter) {
+            this.write = write;
+            this.limiter = limiter;
+            this.admitted = counter(name, "admitted");
+            this.rateLimited = counter(name, "rate_limited");
+            this.overloaded = counter(name, "overloaded");
+        }
+
+        private Counter counter(String route, String outcome) {
+            return Counter.builder("cinemate.admission").tag("route", route).tag("outcome", outcome).register(meterRegistry);
+        }
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+            // Preflights pass through, and the async re-dispatch of an already admitted request
+            // (e.g. a queued review) is not counted twice.
+            if ("OPTIONS".equals(request.getMethod()) || request.getDispatcherType() != DispatcherType.REQUEST) {
+                return true;
+            }
+
+            long wait = limiter.tryAcquire(clientKey(request));
+            if (wait > 0) {
+                rateLimited.increment();
+                return reject(response, "Too many requests, slow down", wait);
+            }
+
+            if (write) {
+                if (!writes.tryAcquire()) {
+                    overloaded.increment();
+                    return reject(response, "Server is busy, try again shortly", TimeUnit.SECONDS.toNanos(1));
+                }
+                request.setAttribute(PERMIT, Boolean.TRUE);
+            }
+            admitted.increment();
+            return true;
+        }
+
+        // Runs once the response is complete, after the async dispatch for deferred results.
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+            if (request.getAttribute(PERMIT) != null) {
+                request.removeAttribute(PERMIT);
+                writes.release();
+            }
+        }
+
+        private boolean reject(HttpServletResponse response, String message, long waitNanos) throws IOException {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(RateLimiter.retryAfterSeconds(waitNanos)));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"message\":\"" + message + "\"}");
+            return false;
+        }
+    }
+}
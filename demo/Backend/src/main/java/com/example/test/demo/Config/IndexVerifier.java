@@ -0,0 +1,143 @@
+package com.example.test.demo.Config;
+
+import com.example.test.demo.Schema.Movie;
+import com.example.test.demo.Schema.Review;
+import com.example.test.demo.Schema.User;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Creates the indexes declared on the schema classes and checks the live collections match them,
+ * before the web server starts taking requests. Any mismatch (missing index, different keys, key
+ * directions or index types, lost uniqueness, or a create that Mongo rejected) is drift; with
+ * cinemate.indexes.fail-on-drift the application refuses to start, otherwise it is logged.
+ */
+@Component
+public class IndexVerifier implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexVerifier.class);
+
+    static final List<Class<?>> INDEXED_TYPES = List.of(Movie.class, Review.class, User.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Off only for runs that must not reach Mongo, such as the CDS training run (application-cds.properties).
+    @Value("${cinemate.indexes.verify:true}")
+    private boolean verify;
+
+    @Value("${cinemate.indexes.create:true}")
+    private boolean create;
+
+    @Value("${cinemate.indexes.fail-on-drift:true}")
+    private boolean failOnDrift;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!verify) {
+            return;
+        }
+        List<String> drift = verify();
+
+        if (drift.isEmpty()) {
+            log.info("Mongo indexes verified for {}", INDEXED_TYPES.stream().map(Class::getSimpleName).toList());
+            return;
+        }
+
+        drift.forEach(d -> log.warn("Index drift: {}", d));
+        if (failOnDrift) {
+            throw new IllegalStateException("Mongo index drift detected: " + drift);
+        }
+    }
+
+    public List<String> verify() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        List<String> drift = new ArrayList<>();
+
+        for (Class<?> type : INDEXED_TYPES) {
+            IndexOperations ops = mongoTemplate.indexOps(type);
+            String collection = mongoTemplate.getCollectionName(type);
+
+            for (IndexDefinition def : resolver.resolveIndexFor(type)) {
+                if (create) {
+                    try {
+                        ops.createIndex(def);
+                    } catch (RuntimeException e) {
+                        drift.add(collection + " " + def.getIndexKeys().toJson() + " could not be created: " + e.getMessage());
+                    }
+                }
+            }
+
+            List<IndexInfo> existing = ops.getIndexInfo();
+            for (IndexDefinition def : resolver.resolveIndexFor(type)) {
+                checkIndex(collection, def, existing).ifPresent(drift::add);
+            }
+        }
+        return drift;
+    }
+
+    static Optional<String> checkIndex(String collection, IndexDefinition def, List<IndexInfo> existing) {
+        List<String> keys = keySpec(def.getIndexKeys());
+        Document options = def.getIndexOptions();
+        boolean unique = options.getBoolean("unique", false);
+
+        Optional<IndexInfo> match = existing.stream()
+                .filter(i -> keySpec(i).equals(keys))
+                .findFirst();
+
+        if (match.isEmpty()) {
+            return Optional.of(collection + " is missing index on " + keys);
+        }
+        if (unique && !match.get().isUnique()) {
+            return Optional.of(collection + " index " + match.get().getName() + " on " + keys + " is not unique");
+        }
+        return Optional.empty();
+    }
+
+    // "field:1", "field:-1" or "field:<type>" per key in order, so an index on the same fields with another
+    // direction or type (hashed, text, geo) does not count as the declared one.
+    static List<String> keySpec(Document keys) {
+        List<String> spec = new ArrayList<>(keys.size());
+        keys.forEach((field, value) -> spec.add(field + ":" + switch (value) {
+            case Number n -> n.intValue() < 0 ? "-1" : "1";
+            case String type when type.startsWith("2d") -> "geo";
+            default -> String.valueOf(value);
+        }));
+        return spec;
+    }
+
+    static List<String> keySpec(IndexInfo info) {
+        List<String> spec = new ArrayList<>(info.getIndexFields().size());
+        for (IndexField field : info.getIndexFields()) {
+            String type;
+            if (field.isHashed()) {
+                type = "hashed";
+            } else if (field.isText()) {
+                type = "text";
+            } else if (field.isGeo()) {
+                type = "geo";
+            } else {
+                type = field.getDirection() == Sort.Direction.DESC ? "-1" : "1";
+            }
+            spec.add(field.getKey() + ":" + type);
+        }
+        return spec;
+    }
+}
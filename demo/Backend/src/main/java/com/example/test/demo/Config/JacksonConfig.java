@@ -1,23 +1,20 @@
-package com.example.test.demo.config;
+package com.example.test.demo.Config;
 
-import com.example.test.demo.Config.ObjectIdSerializer;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.annotation.PostConstruct;
-import org.springframework.beans.factory.annotation.Autowired;
 
+// Spring Boot registers every Module bean on the shared ObjectMapper. That is fixed at build time under AOT,
+// unlike mutating the mapper after it has been created.
 @Configuration
 public class JacksonConfig {
 
-    @Autowired
-    private ObjectMapper objectMapper;
-
-    @PostConstruct
-    public void setUp() {
-        SimpleModule module = new SimpleModule();
+    @Bean
+    public Module objectIdModule() {
+        SimpleModule module = new SimpleModule("ObjectId");
         module.addSerializer(ObjectId.class, new ObjectIdSerializer());
-        objectMapper.registerModule(module);
+        return module;
     }
 }
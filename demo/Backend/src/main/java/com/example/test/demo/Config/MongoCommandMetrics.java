@@ -0,0 +1,136 @@
+package com.example.test.demo.Config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds to the driver metrics Boot already publishes (mongodb.driver.commands, mongodb.driver.pool.*):
+ * documents returned or written per collection and command (cinemate.mongo.documents), and a
+ * slow-command log above cinemate.mongo.slow-query-threshold. Only command names, collections and the
+ * shape of read filters (field names and operators, every value replaced by "?") are logged, so no
+ * emails, ids or other user data reach the log.
+ */
+@Configuration
+public class MongoCommandMetrics implements CommandListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoCommandMetrics.class);
+
+    private static final BsonString REDACTED = new BsonString("?");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cinemate.mongo.slow-query-threshold:100ms}")
+    private Duration slowThreshold;
+
+    // requestId -> collection and filter shape captured at start; the success event only carries the reply
+    private final Map<Integer, Started> inFlight = new ConcurrentHashMap<>();
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer commandMetricsCustomizer() {
+        return builder -> builder.addCommandListener(this);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        BsonDocument command = event.getCommand();
+        String collection = collection(event.getCommandName(), command);
+        if (collection != null) {
+            // The command is a view over the driver's pooled buffer, released once this event returns,
+            // so the filter is reduced to its shape here rather than kept for the success event.
+            BsonValue filter = command.get("filter");
+            inFlight.put(event.getRequestId(), new Started(collection, filter != null ? shape(filter).toString() : "-"));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Started started = inFlight.remove(event.getRequestId());
+        if (started == null) {
+            return;
+        }
+
+        long documents = documents(event.getResponse());
+        if (documents >= 0) {
+            DistributionSummary.builder("cinemate.mongo.documents")
+                    .tag("collection", started.collection)
+                    .tag("command", event.getCommandName())
+                    .register(meterRegistry)
+                    .record(documents);
+        }
+
+        long ms = event.getElapsedTime(TimeUnit.MILLISECONDS);
+        if (ms >= slowThreshold.toMillis()) {
+            log.warn("Slow Mongo {} on {}: {} ms, {} docs, filter {}", event.getCommandName(), started.collection, ms,
+                    documents, started.filter);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        inFlight.remove(event.getRequestId());
+    }
+
+    // {"email": "?", "createdAt": {"$lt": "?"}}; arrays of values collapse to ["?"], clauses of $or/$and keep their shape.
+    static BsonValue shape(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument shaped = new BsonDocument();
+            value.asDocument().forEach((key, v) -> shaped.put(key, shape(v)));
+            return shaped;
+        }
+        if (value.isArray()) {
+            BsonArray shaped = new BsonArray();
+            for (BsonValue v : value.asArray()) {
+                if (v.isDocument()) {
+                    shaped.add(shape(v));
+                }
+            }
+            if (shaped.isEmpty()) {
+                shaped.add(REDACTED);
+            }
+            return shaped;
+        }
+        return REDACTED;
+    }
+
+    private static String collection(String commandName, BsonDocument command) {
+        BsonValue value = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+        return value != null && value.isString() ? value.asString().getValue() : null;
+    }
+
+    // Batch size for cursor replies, n for writes, -1 when the reply carries no count.
+    private static long documents(BsonDocument response) {
+        BsonValue cursor = response.get("cursor");
+        if (cursor != null && cursor.isDocument()) {
+            BsonValue batch = cursor.asDocument().containsKey("firstBatch")
+                    ? cursor.asDocument().get("firstBatch")
+                    : cursor.asDocument().get("nextBatch");
+            return batch instanceof BsonArray array ? array.size() : -1;
+        }
+        BsonValue n = response.get("n");
+        return n != null && n.isNumber() ? n.asNumber().longValue() : -1;
+    }
+
+    private record Started(String collection, String filter) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.test.demo.Config;
+
+import com.example.test.demo.Schema.Movie;
+import com.example.test.demo.Schema.Ratings;
+import com.example.test.demo.Schema.Review;
+import com.example.test.demo.Schema.User;
+import com.example.test.demo.Services.Movie.BrowseResult;
+import com.example.test.demo.Services.Movie.ImportReport;
+import com.example.test.demo.Services.Movie.TitleMatch;
+import com.example.test.demo.Services.Review.ModerationReport;
+import com.example.test.demo.Services.Review.ReviewPage;
+import com.example.test.demo.Services.Review.UserReview;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection hints for the AOT build and the native image. Spring derives hints for typed handler
+ * signatures, but most controllers here return ResponseEntity<?>, Map or List<Object>. Those hints would
+ * miss the Lombok-generated getters, setters and constructors that Jackson and the Mongo mapper call, so
+ * every schema and response type is registered for binding. Auditing sets the @CreatedDate and
+ * @LastModifiedDate fields reflectively, which the field hints cover as well.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHints.Registrar.class)
+@RegisterReflectionForBinding({Movie.class, Ratings.class, Review.class, User.class,
+        ReviewPage.class, UserReview.class, TitleMatch.class, BrowseResult.class, ImportReport.class,
+        ModerationReport.class})
+public class NativeHints {
+
+    static class Registrar implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection().registerType(ObjectIdSerializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            for (Class<?> schema : IndexVerifier.INDEXED_TYPES) {
+                hints.reflection().registerType(schema, MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.test.demo.Config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Pinning diagnostics for virtual-thread mode. Streams the JDK's jdk.VirtualThreadPinned JFR event
+ * and logs where a virtual thread blocked while holding a monitor (a synchronized block or method),
+ * which ties up its carrier thread. Pins whose stack runs through the Mongo driver are called out
+ * separately, since those are synchronized blocks around driver I/O and scale with Mongo latency.
+ * Runs only when both spring.threads.virtual.enabled and cinemate.virtual-threads.pinning-diagnostics are true.
+ */
+@Component
+public class PinnedThreadMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int LOGGED_FRAMES = 12;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Read at run time rather than as a bean condition, which an AOT build would fix at build time.
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${cinemate.virtual-threads.pinning-diagnostics:false}")
+    private boolean enabled;
+
+    @Value("${cinemate.virtual-threads.pinned-threshold:20ms}")
+    private Duration threshold;
+
+    private RecordingStream stream;
+
+    private Counter pinned;
+
+    private Counter pinnedInDriver;
+
+    @PostConstruct
+    public void start() {
+        if (!virtualThreads || !enabled) {
+            return;
+        }
+        pinned = Counter.builder("cinemate.virtual.pinned").tag("source", "other").register(meterRegistry);
+        pinnedInDriver = Counter.builder("cinemate.virtual.pinned").tag("source", "mongo").register(meterRegistry);
+
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Virtual thread pinning diagnostics enabled (threshold {})", threshold);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace trace = event.getStackTrace();
+        List<RecordedFrame> frames = trace != null ? trace.getFrames() : List.of();
+
+        boolean inDriver = frames.stream().anyMatch(f -> f.getMethod() != null
+                && f.getMethod().getType().getName().startsWith("com.mongodb."));
+        (inDriver ? pinnedInDriver : pinned).increment();
+
+        String stack = frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(f -> f.getMethod() == null ? "?" : f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber())
+                .collect(Collectors.joining("\n\tat "));
+
+        log.warn("Virtual thread pinned for {} ms{}:\n\tat {}", event.getDuration().toMillis(),
+                inDriver ? " inside a Mongo driver call" : "", stack);
+    }
+}
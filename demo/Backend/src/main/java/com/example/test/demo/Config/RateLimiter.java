@@ -0,0 +1,60 @@
+package com.example.test.demo.Config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token bucket in GCRA form: each key holds only its theoretical arrival time in an AtomicLong,
+ * and a request is one compare-and-set, so there are no locks and no refill thread. A key may run
+ * `burst` requests ahead of its steady rate. Idle keys expire, which bounds memory under many clients.
+ */
+public class RateLimiter {
+
+    private static final long MAX_KEYS = 100_000;
+
+    private final long intervalNanos;
+
+    private final long toleranceNanos;
+
+    private final Cache<String, AtomicLong> arrivals;
+
+    public RateLimiter(double perSecond, int burst) {
+        this.intervalNanos = (long) (1_000_000_000L / perSecond);
+        this.toleranceNanos = intervalNanos * Math.max(0, burst - 1);
+        this.arrivals = Caffeine.newBuilder()
+                .maximumSize(MAX_KEYS)
+                .expireAfterAccess(Duration.ofNanos(intervalNanos + toleranceNanos).plusSeconds(1))
+                .build();
+    }
+
+    // 0 when admitted, otherwise how long the key must wait before its next request would be.
+    public long tryAcquire(String key) {
+        return tryAcquire(key, System::nanoTime);
+    }
+
+    long tryAcquire(String key, LongSupplier clock) {
+        AtomicLong tat = arrivals.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = clock.getAsLong();
+            long current = tat.get();
+            long base = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            long wait = base - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, base + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // Retry-After value for a wait from tryAcquire: whole seconds, rounded up, at least 1.
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+}
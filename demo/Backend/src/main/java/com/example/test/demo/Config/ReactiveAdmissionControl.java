@@ -0,0 +1,150 @@
+package com.example.test.demo.Config;
+
+import com.example.test.demo.Services.User.SessionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebFlux equivalent of AdmissionControl for the reactive profile, with the same properties, limits and
+ * cinemate.admission metrics, on the review write routes and on login/signin. A write permit is held until
+ * the response completes, errors or is cancelled.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAdmissionControl implements WebFilter {
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${cinemate.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cinemate.admission.writes.max-concurrent:64}")
+    private int maxConcurrentWrites;
+
+    private Semaphore writes;
+
+    // Lower-cased paths, matching the case-insensitive routing in ReactiveWebConfig.
+    private final Map<String, Route> routes = new HashMap<>();
+
+    @PostConstruct
+    public void init() {
+        writes = new Semaphore(maxConcurrentWrites);
+        meterRegistry.gauge("cinemate.admission.writes.in-flight", writes, s -> maxConcurrentWrites - s.availablePermits());
+
+        route("review", true, 1, 5, "/api/review/", "/api/review/delete");
+        route("login", false, 1, 30, "/api/user/login", "/api/user/signin");
+    }
+
+    private void route(String name, boolean write, double defaultRate, int defaultBurst, String... paths) {
+        double rate = environment.getProperty("cinemate.admission." + name + ".rate", Double.class, defaultRate);
+        int burst = environment.getProperty("cinemate.admission." + name + ".burst", Integer.class, defaultBurst);
+        Route route = new Route(name, write, new RateLimiter(rate, burst));
+        for (String path : paths) {
+            routes.put(path, route);
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!enabled || HttpMethod.OPTIONS.equals(request.getMethod())) {
+            return chain.filter(exchange);
+        }
+        Route route = routes.get(request.getPath().pathWithinApplication().value().toLowerCase(Locale.ROOT));
+        return route == null ? chain.filter(exchange) : route.admit(exchange, chain);
+    }
+
+    private String clientKey(ServerHttpRequest request) {
+        HttpCookie cookie = request.getCookies().getFirst(SessionService.COOKIE);
+        return sessionService.verify(cookie == null ? null : cookie.getValue())
+                .map(s -> "u:" + s.getUserId().toHexString())
+                .orElseGet(() -> {
+                    InetSocketAddress remote = request.getRemoteAddress();
+                    return "ip:" + (remote == null ? "unknown" : remote.getHostString());
+                });
+    }
+
+    private final class Route {
+
+        private final boolean write;
+
+        private final RateLimiter limiter;
+
+        private final Counter admitted;
+
+        private final Counter rateLimited;
+
+        private final Counter overloaded;
+
+        Route(String name, boolean write, RateLimiter limiter) {
+            this.write = write;
+            this.limiter = limiter;
+            this.admitted = counter(name, "admitted");
+            this.rateLimited = counter(name, "rate_limited");
+            this.overloaded = counter(name, "overloaded");
+        }
+
+        private Counter counter(String route, String outcome) {
+            return Counter.builder("cinemate.admission").tag("route", route).tag("outcome", outcome).register(meterRegistry);
+        }
+
+        Mono<Void> admit(ServerWebExchange exchange, WebFilterChain chain) {
+            long wait = limiter.tryAcquire(clientKey(exchange.getRequest()));
+            if (wait > 0) {
+                rateLimited.increment();
+                return reject(exchange.getResponse(), "Too many requests, slow down", wait);
+            }
+
+            if (!write) {
+                admitted.increment();
+                return chain.filter(exchange);
+            }
+            if (!writes.tryAcquire()) {
+                overloaded.increment();
+                return reject(exchange.getResponse(), "Server is busy, try again shortly", TimeUnit.SECONDS.toNanos(1));
+            }
+            admitted.increment();
+            return chain.filter(exchange).doFinally(signal -> writes.release());
+        }
+
+        private Mono<Void> reject(ServerHttpResponse response, String message, long waitNanos) {
+            response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(RateLimiter.retryAfterSeconds(waitNanos)));
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            byte[] body = ("{\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        }
+    }
+}
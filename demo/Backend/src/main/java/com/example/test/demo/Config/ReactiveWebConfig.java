@@ -0,0 +1,29 @@
+package com.example.test.demo.Config;
+
+import com.example.test.demo.Controllers.MovieController;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.PathMatchConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+// WebFlux equivalent of WebConfig for the reactive profile.
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    @Override
+    public void configurePathMatching(PathMatchConfigurer configurer) {
+        configurer.setUseCaseSensitiveMatch(false);
+    }
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        registry.addMapping("/**")
+                .allowedOrigins("http://localhost:5173")
+                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                .allowedHeaders("*")
+                .exposedHeaders(MovieController.NEXT_CURSOR_HEADER)
+                .allowCredentials(true);
+    }
+}
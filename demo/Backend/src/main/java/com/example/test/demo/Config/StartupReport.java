@@ -0,0 +1,70 @@
+package com.example.test.demo.Config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NativeDetector;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * One log line per start with the startup mode (jar, AOT, CDS or native), the time to ready and the
+ * process RSS, so the fast-start builds can be compared with the default jar (see scripts/startup-compare.sh).
+ * RSS is also exported as cinemate.process.rss; Spring Boot already exports application.started.time and
+ * application.ready.time.
+ */
+@Component
+public class StartupReport {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupReport.class);
+
+    private static final Path STATUS = Path.of("/proc/self/status");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @EventListener
+    public void ready(ApplicationReadyEvent event) {
+        Gauge.builder("cinemate.process.rss", StartupReport::rssBytes)
+                .baseUnit("bytes")
+                .description("Resident set size of this process")
+                .register(meterRegistry);
+
+        long rss = rssBytes();
+        log.info("Ready in {} ms ({}), RSS {}", event.getTimeTaken().toMillis(), mode(),
+                rss < 0 ? "unknown" : rss / (1024 * 1024) + " MB");
+    }
+
+    static String mode() {
+        if (NativeDetector.inNativeImage()) {
+            return "native";
+        }
+        boolean cds = ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .anyMatch(a -> a.startsWith("-XX:SharedArchiveFile"));
+        String mode = AotDetector.useGeneratedArtifacts() ? "aot" : "jar";
+        return cds ? mode + "+cds" : mode;
+    }
+
+    // Linux only; -1 elsewhere.
+    static long rssBytes() {
+        try {
+            for (String line : Files.readAllLines(STATUS)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not on Linux
+        }
+        return -1;
+    }
+}
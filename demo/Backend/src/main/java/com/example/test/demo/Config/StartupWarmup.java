@@ -0,0 +1,216 @@
+package com.example.test.demo.Config;
+
+import com.example.test.demo.Schema.Movie;
+import com.example.test.demo.Services.Movie.MovieService;
+import com.example.test.demo.Services.Review.ReviewPage;
+import com.example.test.demo.Services.Review.ReviewService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms a new instance before it reports ready. Application runners finish before Spring Boot moves
+ * readiness to ACCEPTING_TRAFFIC, so /actuator/health/readiness stays OUT_OF_SERVICE until this is done.
+ *
+ * Phases, each cut short by cinemate.warmup.budget: open cinemate.warmup.connections Mongo connections,
+ * load up to cinemate.warmup.movies hot movies into the MovieService caches, read their first review page
+ * and serialize them repeatedly, then replay read requests against the local server so the MVC, filter
+ * and Jackson paths are compiled. Failures are logged and never stop startup. The outcome is logged and shown under
+ * /actuator/info as "warmup".
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StartupWarmup implements ApplicationRunner, InfoContributor {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private static final Set<String> IMDB_ID = Set.of("imdbId");
+
+    // Sent on every replayed request so WebConfig can keep them out of http.server.requests.
+    public static final String HEADER = "X-Cinemate-Warmup";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    // Read at run time rather than as a bean condition, which an AOT build would fix at build time.
+    @Value("${cinemate.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cinemate.warmup.budget:30s}")
+    private Duration budget;
+
+    @Value("${cinemate.warmup.connections:10}")
+    private int connections;
+
+    @Value("${cinemate.warmup.movies:200}")
+    private int movies;
+
+    @Value("${cinemate.warmup.rounds:500}")
+    private int rounds;
+
+    // Published once the run completes; until then /actuator/info reports the warm-up as running.
+    private volatile Map<String, Object> report = Map.of("status", "running");
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            report = Map.of("status", "disabled");
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + budget.toNanos();
+        Map<String, Object> outcome = new LinkedHashMap<>();
+
+        try {
+            outcome.put("connections", openConnections(deadline));
+            List<Movie> hot = preload(deadline);
+            outcome.put("movies", hot.size());
+            outcome.put("serialized", serialize(hot, deadline));
+            outcome.put("requests", replay(hot, deadline));
+        } catch (Exception e) {
+            log.warn("Warm-up stopped early", e);
+            outcome.put("error", String.valueOf(e.getMessage()));
+        }
+
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        outcome.put("elapsedMs", elapsed);
+        outcome.put("budgetExhausted", System.nanoTime() - deadline >= 0);
+        log.info("Warm-up finished in {} ms: {}", elapsed, outcome);
+        report = outcome;
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        builder.withDetail("warmup", report);
+    }
+
+    // Concurrent pings, so each one has to check out (and so open) a separate pooled connection.
+    private int openConnections(long deadline) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(connections);
+        try {
+            List<Future<?>> pings = new ArrayList<>(connections);
+            for (int i = 0; i < connections; i++) {
+                pings.add(pool.submit(() -> mongoTemplate.executeCommand(new Document("ping", 1))));
+            }
+            int opened = 0;
+            for (Future<?> ping : pings) {
+                ping.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                opened++;
+            }
+            return opened;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Request counts are not kept anywhere, so the top-rated list (the home page) stands in for the hot
+    // set, topped up from the first catalog page when fewer movies are rated.
+    private List<Movie> preload(long deadline) {
+        Set<String> ids = new LinkedHashSet<>();
+        movieService.topRated(1, movies, IMDB_ID).forEach(m -> ids.add(m.getImdbId()));
+        if (ids.size() < movies) {
+            movieService.findPage(null, movies, IMDB_ID).forEach(m -> ids.add(m.getImdbId()));
+        }
+
+        List<Movie> hot = new ArrayList<>();
+        for (String imdbId : ids) {
+            if (hot.size() >= movies || System.nanoTime() - deadline >= 0) {
+                break;
+            }
+            // Fills both the document cache and the pre-rendered response cache.
+            movieService.findRendered(imdbId);
+            movieService.findByImdb(imdbId).ifPresent(hot::add);
+        }
+        return hot;
+    }
+
+    private int serialize(List<Movie> hot, long deadline) throws Exception {
+        int written = 0;
+        for (int round = 0; round < rounds && !hot.isEmpty(); round++) {
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+            Movie movie = hot.get(round % hot.size());
+            ReviewPage page = reviewService.findRev(movie.getImdbId(), ReviewService.DEFAULT_PAGE_SIZE, null);
+            objectMapper.writeValueAsBytes(movie);
+            objectMapper.writeValueAsBytes(page.getReviews());
+            written += 1 + page.getReviews().size();
+        }
+        return written;
+    }
+
+    // Read-only requests through the real connector, so nothing is written and no limits apply. They are
+    // left out of http.server.requests, but their Mongo reads still count in the driver metrics.
+    private int replay(List<Movie> hot, long deadline) throws Exception {
+        String port = environment.getProperty("local.server.port");
+        if (port == null || hot.isEmpty()) {
+            return 0;
+        }
+
+        String base = "http://localhost:" + port;
+        int sent = 0;
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build()) {
+            for (int round = 0; round < rounds; round++) {
+                String imdbId = hot.get(round % hot.size()).getImdbId();
+                List<HttpRequest> requests = List.of(
+                        get(base + "/api/movies/?limit=20").build(),
+                        get(base + "/api/movies/?limit=20&view=card").build(),
+                        get(base + "/api/movies/imdb/" + imdbId).build(),
+                        get(base + "/api/movies/imdb/" + imdbId).header("Accept-Encoding", "gzip").build(),
+                        get(base + "/api/movies/top-rated?limit=10").build(),
+                        get(base + "/api/review/viewreview?imdbId=" + imdbId).build());
+                for (HttpRequest request : requests) {
+                    if (System.nanoTime() - deadline >= 0) {
+                        return sent;
+                    }
+                    client.send(request, HttpResponse.BodyHandlers.discarding());
+                    sent++;
+                }
+            }
+        }
+        return sent;
+    }
+
+    private static HttpRequest.Builder get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(5)).header(HEADER, "1").GET();
+    }
+}
@@ -1,14 +1,29 @@
 package com.example.test.demo.Config;
 
+import com.example.test.demo.Controllers.MovieController;
+import io.micrometer.observation.ObservationPredicate;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.PathMatchConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.util.AntPathMatcher;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
     @Override
     public void configurePathMatch(PathMatchConfigurer configurer) {
         AntPathMatcher matcher = new AntPathMatcher();
@@ -16,6 +31,38 @@ public class WebConfig implements WebMvcConfigurer {
         configurer.setPathMatcher(matcher);
     }
 
+    // Only the routes that write or hash passwords; reads are served from caches and stay unlimited.
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!admissionControl.isEnabled()) {
+            return;
+        }
+        registry.addInterceptor(admissionControl.route("review", true, 1, 5))
+                .addPathPatterns("/api/review/", "/api/review/delete");
+        registry.addInterceptor(admissionControl.route("login", false, 1, 30))
+                .addPathPatterns("/api/user/login", "/api/user/signin");
+    }
+
+    // StartupWarmup's replayed requests would otherwise skew http.server.requests. Only honoured from
+    // loopback, so outside clients cannot hide their own traffic by sending the header.
+    @Bean
+    public ObservationPredicate skipWarmupRequests() {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext server
+                && isWarmup(server.getCarrier()));
+    }
+
+    static boolean isWarmup(HttpServletRequest request) {
+        if (request.getHeader(StartupWarmup.HEADER) == null) {
+            return false;
+        }
+        try {
+            // An IP literal, so this never does a DNS lookup.
+            return InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
     @Bean
     public WebMvcConfigurer corsConfigurer() {
         return new WebMvcConfigurer() {
@@ -25,6 +72,7 @@ public class WebConfig implements WebMvcConfigurer {
                         .allowedOrigins("http://localhost:5173") // add frontend origin here
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
+                        .exposedHeaders(MovieController.NEXT_CURSOR_HEADER) // paging cursor, read by the frontend
                         .allowCredentials(true); // needed if using cookies
             }
         };
@@ -0,0 +1,162 @@
+package com.example.test.demo.Controllers;
+
+import com.example.test.demo.Services.Export.ExportService;
+import com.example.test.demo.Services.Movie.CatalogImporter;
+import com.example.test.demo.Services.Movie.ImportReport;
+import com.example.test.demo.Services.Review.ModerationReport;
+import com.example.test.demo.Services.Review.ReviewModeration;
+import jakarta.servlet.http.HttpServletRequest;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Operator endpoints. Disabled unless cinemate.admin.token is set; callers send it as X-Admin-Token.
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    public static final String TOKEN_HEADER = "X-Admin-Token";
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private CatalogImporter catalogImporter;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ReviewModeration reviewModeration;
+
+    @Value("${cinemate.admin.token:}")
+    private String adminToken;
+
+    @Value("${cinemate.import.batch-size:1000}")
+    private int defaultBatchSize;
+
+    @Value("${cinemate.import.parallelism:4}")
+    private int defaultParallelism;
+
+    // Body: NDJSON or a JSON array of movies, optionally sent with Content-Encoding: gzip.
+    @PostMapping("/movies/import")
+    public ResponseEntity<?> importMovies(@RequestParam(value = "mode", defaultValue = "insert") String mode,
+                                          @RequestParam(value = "batchSize", required = false) Integer batchSize,
+                                          @RequestParam(value = "parallelism", required = false) Integer parallelism,
+                                          HttpServletRequest request) {
+        if (!authorized(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("message", "Admin token required"));
+        }
+        try {
+            CatalogImporter.Mode m = CatalogImporter.Mode.valueOf(mode.toUpperCase(Locale.ROOT));
+            InputStream in = request.getInputStream();
+            if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+                in = new GZIPInputStream(in, 64 * 1024);
+            }
+            ImportReport report = catalogImporter.importMovies(in, m,
+                    batchSize != null ? batchSize : defaultBatchSize,
+                    parallelism != null ? parallelism : defaultParallelism);
+            return ResponseEntity.ok(report);
+        }
+        catch (Exception e){
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", String.valueOf(e.getMessage())));
+        }
+    }
+
+    // NDJSON dump in _id order; resume an interrupted download with after=<_id of the last line received>.
+    @GetMapping("/export/{collection}")
+    public ResponseEntity<?> export(@PathVariable String collection,
+                                    @RequestParam(value = "after", required = false) ObjectId after,
+                                    @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+                                    HttpServletRequest request) {
+        if (!authorized(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("message", "Admin token required"));
+        }
+        if (!ExportService.collections().contains(collection)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Unknown collection " + collection));
+        }
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream zip = new GZIPOutputStream(out, 64 * 1024);
+                exportService.export(collection, after, zip);
+                zip.finish();
+            } else {
+                exportService.export(collection, after, out);
+            }
+        };
+        String file = collection + (gzip ? ".ndjson.gz" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file + "\"")
+                .body(body);
+    }
+
+    // Body: exactly one of {"userId": ..}, {"imdbId": ..} or {"ids": [..]}. Runs to completion and returns the counts.
+    @PostMapping("/reviews/delete")
+    public ResponseEntity<?> deleteReviews(@RequestBody Map<String, Object> req, HttpServletRequest request) {
+        if (!authorized(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("message", "Admin token required"));
+        }
+        try {
+            Object userId = req.get("userId");
+            Object imdbId = req.get("imdbId");
+            Object ids = req.get("ids");
+            if ((userId != null ? 1 : 0) + (imdbId != null ? 1 : 0) + (ids != null ? 1 : 0) != 1) {
+                throw new RuntimeException("Provide exactly one of userId, imdbId or ids");
+            }
+
+            ModerationReport report;
+            if (userId != null) {
+                report = reviewModeration.deleteByUser(objectId(userId));
+            } else if (imdbId != null) {
+                report = reviewModeration.deleteByMovie(imdbId.toString());
+            } else if (ids instanceof List<?> list && !list.isEmpty()) {
+                List<ObjectId> reviewIds = new ArrayList<>(list.size());
+                for (Object id : list) {
+                    reviewIds.add(objectId(id));
+                }
+                report = reviewModeration.deleteByIds(reviewIds);
+            } else {
+                throw new RuntimeException("ids must be a non-empty list");
+            }
+            return ResponseEntity.ok(report);
+        }
+        catch (Exception e){
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", String.valueOf(e.getMessage())));
+        }
+    }
+
+    private static ObjectId objectId(Object value) {
+        String id = String.valueOf(value);
+        if (!ObjectId.isValid(id)) {
+            throw new RuntimeException("Invalid id " + id);
+        }
+        return new ObjectId(id);
+    }
+
+    private boolean authorized(HttpServletRequest request) {
+        String token = request.getHeader(TOKEN_HEADER);
+        if (adminToken.isEmpty() || token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(adminToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
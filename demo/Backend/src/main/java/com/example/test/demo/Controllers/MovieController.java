@@ -1,34 +1,118 @@
 package com.example.test.demo.Controllers;
 
+import com.example.test.demo.Services.Movie.BrowseResult;
+import com.example.test.demo.Services.Movie.MovieFields;
 import com.example.test.demo.Services.Movie.MovieService;
+import com.example.test.demo.Services.Movie.TitleMatch;
 import com.example.test.demo.Schema.Movie;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/movies")
 public class MovieController {
 
     @Autowired
     private MovieService  movieService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    // view=card|detail|full or fields=a,b,c: see MovieFields. Unselected fields are never read from Mongo.
     @GetMapping("/")
-    public ResponseEntity<List<Movie>> getMovies() {
-        return new ResponseEntity<List<Movie>>(movieService.findAll(), HttpStatus.OK);
+    public ResponseEntity<List<Object>> getMovies(@RequestParam(value = "after", required = false) ObjectId after,
+                                                  @RequestParam(value = "limit", defaultValue = "50") int limit,
+                                                  @RequestParam(value = "view", required = false) String view,
+                                                  @RequestParam(value = "fields", required = false) String fields) {
+        Set<String> selected = select(view, fields);
+        List<Movie> page = movieService.findPage(after, limit, selected);
+
+        ResponseEntity.BodyBuilder res = ResponseEntity.status(HttpStatus.OK);
+        if (!page.isEmpty() && page.size() >= Math.min(limit, MovieService.MAX_PAGE_SIZE)) {
+            res.header(NEXT_CURSOR_HEADER, page.get(page.size() - 1).getId().toHexString());
+        }
+        return res.body(page.stream().map(m -> MovieFields.trim(objectMapper, m, selected)).toList());
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamMovies(@RequestParam(value = "after", required = false) ObjectId after,
+                                                              @RequestParam(value = "view", required = false) String view,
+                                                              @RequestParam(value = "fields", required = false) String fields) {
+        Set<String> selected = select(view, fields);
+        StreamingResponseBody body = out -> {
+            try (Stream<Movie> movies = movieService.stream(after, selected)) {
+                Iterator<Movie> it = movies.iterator();
+                while (it.hasNext()) {
+                    out.write(objectMapper.writeValueAsBytes(MovieFields.trim(objectMapper, it.next(), selected)));
+                    out.write('\n');
+                }
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<TitleMatch>> search(@RequestParam(value = "q", defaultValue = "") String q,
+                                                   @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return new ResponseEntity<List<TitleMatch>>(movieService.search(q, limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/browse")
+    public ResponseEntity<BrowseResult> browse(@RequestParam(value = "genre", required = false) List<String> genres,
+                                               @RequestParam(value = "from", required = false) String from,
+                                               @RequestParam(value = "to", required = false) String to,
+                                               @RequestParam(value = "offset", defaultValue = "0") int offset,
+                                               @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return new ResponseEntity<BrowseResult>(movieService.browse(genres, from, to, offset, limit), HttpStatus.OK);
+    }
+
+    // Read from the maintained per-movie aggregates through the (ratings.average, ratings.count) index.
+    @GetMapping("/top-rated")
+    public ResponseEntity<List<Object>> topRated(@RequestParam(value = "minCount", defaultValue = "1") int minCount,
+                                                 @RequestParam(value = "limit", defaultValue = "10") int limit,
+                                                 @RequestParam(value = "view", required = false) String view,
+                                                 @RequestParam(value = "fields", required = false) String fields) {
+        Set<String> selected = select(view, fields);
+        List<Object> top = movieService.topRated(minCount, limit, selected).stream()
+                .map(m -> MovieFields.trim(objectMapper, m, selected))
+                .toList();
+        return new ResponseEntity<List<Object>>(top, HttpStatus.OK);
     }
 
+    // Single movies come from the cache as whole documents; a selection only trims the response.
     @GetMapping("/{id}")
-    public ResponseEntity<Optional<Movie>> getMovieById(@PathVariable ObjectId id) {
-        return new ResponseEntity<Optional<Movie>>(movieService.findById(id), HttpStatus.OK);
+    public ResponseEntity<Optional<Object>> getMovieById(@PathVariable ObjectId id,
+                                                         @RequestParam(value = "view", required = false) String view,
+                                                         @RequestParam(value = "fields", required = false) String fields) {
+        Set<String> selected = select(view, fields);
+        return new ResponseEntity<Optional<Object>>(movieService.findById(id).map(m -> MovieFields.trim(objectMapper, m, selected)), HttpStatus.OK);
     }
 
     @GetMapping("/find/{id}")
@@ -39,18 +123,113 @@ public class MovieController {
     }
 
     @GetMapping("/findbyname/{name}")
-    public ResponseEntity<Optional<Movie>> getMovieByName(@PathVariable String name) {
-        return new ResponseEntity<Optional<Movie>>(movieService.findByName(name), HttpStatus.OK);
+    public ResponseEntity<Optional<Object>> getMovieByName(@PathVariable String name,
+                                                           @RequestParam(value = "view", required = false) String view,
+                                                           @RequestParam(value = "fields", required = false) String fields) {
+        Set<String> selected = select(view, fields);
+        return new ResponseEntity<Optional<Object>>(movieService.findByName(name).map(m -> MovieFields.trim(objectMapper, m, selected)), HttpStatus.OK);
     }
 
+    // Strong ETag and Last-Modified from the movie's version stamp. A revalidation is checked against the
+    // stamp alone, so a 304 neither loads nor serializes the movie. A 200 is written from pre-rendered
+    // bytes, gzipped ahead of time when the client accepts it; a view or fields selection is trimmed instead.
     @GetMapping("/imdb/{id}")
-    public ResponseEntity<?> getMovieByImdbId(@PathVariable String id) {
-        Optional<Movie> mov =  movieService.findByImdb(id);
+    public ResponseEntity<?> getMovieByImdbId(@PathVariable String id,
+                                              @RequestParam(value = "view", required = false) String view,
+                                              @RequestParam(value = "fields", required = false) String fields,
+                                              WebRequest webRequest) {
+        Set<String> selected = select(view, fields);
+        boolean gzip = selected == null && acceptsGzip(webRequest);
+
+        Optional<MovieService.Stamp> known = revalidating(webRequest) ? movieService.stamp(id) : Optional.empty();
+        if (known.isPresent() && webRequest.checkNotModified(etag(known.get(), gzip), known.get().lastModified())) {
+            return null;
+        }
+
+        if (selected != null) {
+            Optional<Movie> movie = movieService.findByImdb(id);
+            if (movie.isEmpty()) {
+                return new ResponseEntity<>("Movie Not Found",HttpStatus.NOT_FOUND);
+            }
+            MovieService.Stamp stamp = MovieService.Stamp.of(movie.get());
+            if (known.isEmpty() && webRequest.checkNotModified(stamp.etag(), stamp.lastModified())) {
+                return null;
+            }
+            return new ResponseEntity<>(MovieFields.trim(objectMapper, movie.get(), selected), HttpStatus.OK);
+        }
+
+        Optional<MovieService.Rendered> mov = movieService.findRendered(id);
 
         if (mov.isPresent()) {
-            return new ResponseEntity<>(mov.get(), HttpStatus.OK);
+            MovieService.Stamp stamp = mov.get().stamp();
+            if (known.isEmpty() && webRequest.checkNotModified(etag(stamp, gzip), stamp.lastModified())) {
+                return null;
+            }
+            ResponseEntity.BodyBuilder res = ResponseEntity.status(HttpStatus.OK)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                return res.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(mov.get().gzip());
+            }
+            return res.body(mov.get().json());
         }
         return new ResponseEntity<>("Movie Not Found",HttpStatus.NOT_FOUND);
     }
 
+    static Set<String> select(String view, String fields) {
+        try {
+            return MovieFields.resolve(view, fields);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // Each content coding is its own representation, so it gets its own strong ETag.
+    private static String etag(MovieService.Stamp stamp, boolean gzip) {
+        return gzip ? stamp.gzipEtag() : stamp.etag();
+    }
+
+    private static boolean acceptsGzip(WebRequest webRequest) {
+        return acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    // Accept-Encoding per RFC 9110: gzip (or x-gzip) with q > 0, or else * with q > 0. "gzip;q=0" is a refusal.
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Float gzip = null;
+        Float any = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            float q = quality(params);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? q : Math.max(gzip, q);
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        return gzip != null ? gzip > 0 : any != null && any > 0;
+    }
+
+    private static float quality(String[] params) {
+        for (int i = 1; i < params.length; i++) {
+            String param = params[i].trim();
+            if (param.length() > 2 && param.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Float.parseFloat(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    static boolean revalidating(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
 }
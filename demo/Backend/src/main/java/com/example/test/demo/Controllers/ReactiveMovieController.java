@@ -0,0 +1,140 @@
+package com.example.test.demo.Controllers;
+
+import com.example.test.demo.Services.Movie.BrowseResult;
+import com.example.test.demo.Services.Movie.MovieFields;
+import com.example.test.demo.Services.Movie.MovieService;
+import com.example.test.demo.Services.Movie.ReactiveMovieService;
+import com.example.test.demo.Services.Movie.TitleMatch;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// Same contract as MovieController, served when the app runs on WebFlux (reactive profile).
+@RestController
+@RequestMapping("/api/movies")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveMovieController {
+
+    @Autowired
+    private ReactiveMovieService movieService;
+
+    @Autowired
+    private MovieService blockingMovieService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @GetMapping("/")
+    public Mono<ResponseEntity<List<Object>>> getMovies(@RequestParam(value = "after", required = false) ObjectId after,
+                                                        @RequestParam(value = "limit", defaultValue = "50") int limit,
+                                                        @RequestParam(value = "view", required = false) String view,
+                                                        @RequestParam(value = "fields", required = false) String fields) {
+        Set<String> selected = MovieController.select(view, fields);
+        return movieService.findPage(after, limit, selected).collectList().map(page -> {
+            ResponseEntity.BodyBuilder res = ResponseEntity.status(HttpStatus.OK);
+            if (!page.isEmpty() && page.size() >= Math.min(limit, MovieService.MAX_PAGE_SIZE)) {
+                res.header(MovieController.NEXT_CURSOR_HEADER, page.get(page.size() - 1).getId().toHexString());
+            }
+            return res.body(page.stream().map(m -> MovieFields.trim(objectMapper, m, selected)).toList());
+        });
+    }
+
+    // Jackson writes each movie as it arrives; backpressure from the socket throttles the Mongo cursor.
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> streamMovies(@RequestParam(value = "after", required = false) ObjectId after,
+                                     @RequestParam(value = "view", required = false) String view,
+                                     @RequestParam(value = "fields", required = false) String fields) {
+        Set<String> selected = MovieController.select(view, fields);
+        return movieService.stream(after, selected).map(m -> MovieFields.trim(objectMapper, m, selected));
+    }
+
+    // Served from the in-memory title index, so there is nothing to wait on.
+    @GetMapping("/search")
+    public Mono<List<TitleMatch>> search(@RequestParam(value = "q", defaultValue = "") String q,
+                                         @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return Mono.just(blockingMovieService.search(q, limit));
+    }
+
+    @GetMapping("/browse")
+    public Mono<BrowseResult> browse(@RequestParam(value = "genre", required = false) List<String> genres,
+                                     @RequestParam(value = "from", required = false) String from,
+                                     @RequestParam(value = "to", required = false) String to,
+                                     @RequestParam(value = "offset", defaultValue = "0") int offset,
+                                     @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return Mono.just(blockingMovieService.browse(genres, from, to, offset, limit));
+    }
+
+    @GetMapping("/top-rated")
+    public Flux<Object> topRated(@RequestParam(value = "minCount", defaultValue = "1") int minCount,
+                                 @RequestParam(value = "limit", defaultValue = "10") int limit,
+                                 @RequestParam(value = "view", required = false) String view,
+                                 @RequestParam(value = "fields", required = false) String fields) {
+        Set<String> selected = MovieController.select(view, fields);
+        return movieService.topRated(minCount, limit, selected).map(m -> MovieFields.trim(objectMapper, m, selected));
+    }
+
+    // Like MovieController, a miss is a 200 with a null body rather than an empty response.
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Optional<Object>>> getMovieById(@PathVariable ObjectId id,
+                                     @RequestParam(value = "view", required = false) String view,
+                                     @RequestParam(value = "fields", required = false) String fields) {
+        Set<String> selected = MovieController.select(view, fields);
+        return found(movieService.findById(id, selected).map(m -> MovieFields.trim(objectMapper, m, selected)));
+    }
+
+    @GetMapping("/find/{id}")
+    public Mono<ResponseEntity<String>> getName(@PathVariable ObjectId id) {
+        return movieService.findById(id, Set.of("title"))
+                .map(m -> new ResponseEntity<String>(m.getTitle(), HttpStatus.OK))
+                .defaultIfEmpty(new ResponseEntity<String>("Movie Not Found", HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/findbyname/{name}")
+    public Mono<ResponseEntity<Optional<Object>>> getMovieByName(@PathVariable String name,
+                                       @RequestParam(value = "view", required = false) String view,
+                                       @RequestParam(value = "fields", required = false) String fields) {
+        Set<String> selected = MovieController.select(view, fields);
+        return found(movieService.findByName(name, selected).map(m -> MovieFields.trim(objectMapper, m, selected)));
+    }
+
+    @GetMapping("/imdb/{id}")
+    public Mono<ResponseEntity<Object>> getMovieByImdbId(@PathVariable String id,
+                                                         @RequestParam(value = "view", required = false) String view,
+                                                         @RequestParam(value = "fields", required = false) String fields) {
+        Set<String> selected = MovieController.select(view, fields);
+        return movieService.findByImdb(id, selected)
+                .map(m -> {
+                    MovieService.Stamp stamp = MovieService.Stamp.of(m);
+                    return validated(stamp.etag(), stamp.lastModified()).body(MovieFields.trim(objectMapper, m, selected));
+                })
+                .defaultIfEmpty(new ResponseEntity<Object>("Movie Not Found", HttpStatus.NOT_FOUND));
+    }
+
+    private static Mono<ResponseEntity<Optional<Object>>> found(Mono<Object> movie) {
+        return movie.map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .map(m -> new ResponseEntity<>(m, HttpStatus.OK));
+    }
+
+    // WebFlux answers a matching If-None-Match or If-Modified-Since from these headers with a 304,
+    // without serializing the body.
+    static ResponseEntity.BodyBuilder validated(String etag, long lastModified) {
+        ResponseEntity.BodyBuilder res = ResponseEntity.status(HttpStatus.OK).eTag(etag);
+        return lastModified >= 0 ? res.lastModified(lastModified) : res;
+    }
+}
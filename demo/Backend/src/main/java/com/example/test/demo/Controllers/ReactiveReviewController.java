@@ -0,0 +1,147 @@
+package com.example.test.demo.Controllers;
+
+import com.example.test.demo.Services.Movie.MovieService;
+import com.example.test.demo.Services.Movie.ReactiveMovieService;
+import com.example.test.demo.Services.Review.ReactiveReviewService;
+import com.example.test.demo.Services.Review.ReviewPage;
+import com.example.test.demo.Services.Review.ReviewService;
+import com.example.test.demo.Services.Review.UserReviewPage;
+import com.example.test.demo.Services.User.Session;
+import com.example.test.demo.Services.User.SessionService;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Optional;
+
+// Same contract as ReviewController, served when the app runs on WebFlux (reactive profile).
+@RestController
+@RequestMapping("/api/review")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReviewController {
+
+    @Autowired
+    private ReactiveReviewService reviewService;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private ReactiveMovieService movieService;
+
+    @PostMapping("/")
+    public Mono<ResponseEntity<Object>> createReview(@RequestBody Map<String,String> req,
+                                                     @CookieValue(value = SessionService.COOKIE, required = false) String token){
+        String imdbId = req.getOrDefault("imdbId","");
+        String body = req.getOrDefault("body","");
+
+        if(imdbId.isEmpty() || body.isEmpty()){
+            return badRequest("Provide Comment");
+        }
+
+        Optional<Session> session = sessionService.verify(token);
+        if(session.isEmpty()){
+            return badRequest("Login To Continue");
+        }
+
+        Integer rating;
+        try {
+            rating = ReviewController.rating(req);
+        } catch (RuntimeException e) {
+            return badRequest(e.getMessage());
+        }
+
+        return reviewService.newReview(body, rating, imdbId, session.get().getUserId(), session.get().getName())
+                .map(saved -> new ResponseEntity<Object>(saved, HttpStatus.OK))
+                .onErrorResume(e -> badRequest(e.getMessage()));
+    }
+
+    @RequestMapping(value = "/viewreview", method = {RequestMethod.GET, RequestMethod.POST})
+    public Mono<ResponseEntity<Object>> viewReview(@RequestBody(required = false) Map<String,String> req,
+                                                   @RequestParam(value = "imdbId", required = false) String imdbIdParam,
+                                                   @RequestParam(value = "size", defaultValue = "" + ReviewService.DEFAULT_PAGE_SIZE) int size,
+                                                   @RequestParam(value = "cursor", required = false) String cursor,
+                                                   ServerHttpRequest request){
+        String imdbId = imdbIdParam != null ? imdbIdParam : (req != null ? req.getOrDefault("imdbId","") : "");
+        if(imdbId == null || imdbId.isEmpty()){
+            return badRequest("Provide IMDB");
+        }
+
+        // Only GET is cacheable; a POST lookup is always answered in full.
+        Mono<Optional<MovieService.Stamp>> stamp = request.getMethod() == HttpMethod.GET
+                ? movieService.stamp(imdbId).map(Optional::of).defaultIfEmpty(Optional.empty())
+                : Mono.just(Optional.empty());
+
+        return Mono.zip(stamp, reviewService.findRev(imdbId, size, cursor))
+                .map(t -> {
+                    ReviewPage page = t.getT2();
+                    ResponseEntity.BodyBuilder res = t.getT1()
+                            .map(s -> ReactiveMovieController.validated(s.reviewsEtag(), s.lastModified()))
+                            .orElseGet(() -> ResponseEntity.status(HttpStatus.OK));
+                    if (page.getNext() != null) {
+                        res.header(MovieController.NEXT_CURSOR_HEADER, page.getNext());
+                    }
+                    return res.<Object>body(page.getReviews());
+                })
+                .onErrorResume(e -> badRequest(e.getMessage()));
+    }
+
+    @GetMapping("/user/{userId}")
+    public Mono<ResponseEntity<Object>> userReviews(@PathVariable String userId,
+                                                    @RequestParam(value = "size", defaultValue = "" + ReviewService.DEFAULT_PAGE_SIZE) int size,
+                                                    @RequestParam(value = "cursor", required = false) String cursor){
+        if(!ObjectId.isValid(userId)){
+            return badRequest("Invalid user id");
+        }
+        return history(reviewService.findByUser(new ObjectId(userId), size, cursor));
+    }
+
+    @GetMapping("/user/me")
+    public Mono<ResponseEntity<Object>> myReviews(@RequestParam(value = "size", defaultValue = "" + ReviewService.DEFAULT_PAGE_SIZE) int size,
+                                                  @RequestParam(value = "cursor", required = false) String cursor,
+                                                  @CookieValue(value = SessionService.COOKIE, required = false) String token){
+        Optional<Session> session = sessionService.verify(token);
+        if(session.isEmpty()){
+            return badRequest("Login To Continue");
+        }
+        return history(reviewService.findByUser(session.get().getUserId(), size, cursor));
+    }
+
+    private static Mono<ResponseEntity<Object>> history(Mono<UserReviewPage> page) {
+        return page.map(p -> {
+                    ResponseEntity.BodyBuilder res = ResponseEntity.status(HttpStatus.OK);
+                    if (p.getNext() != null) {
+                        res.header(MovieController.NEXT_CURSOR_HEADER, p.getNext());
+                    }
+                    return res.<Object>body(p.getReviews());
+                })
+                .onErrorResume(e -> badRequest(e.getMessage()));
+    }
+
+    @GetMapping("/delete")
+    public Mono<ResponseEntity<Object>> deleteReview(@RequestBody Map<String,String> req){
+        String id = req.getOrDefault("id","");
+
+        if(id == null || id.isEmpty()){
+            return badRequest("Provide ID");
+        }
+        if(!ObjectId.isValid(id)){
+            return badRequest("Invalid ID");
+        }
+
+        return reviewService.delete(new ObjectId(id))
+                .map(msg -> new ResponseEntity<Object>(msg, HttpStatus.OK))
+                .onErrorResume(e -> badRequest(e.getMessage()));
+    }
+
+    private static Mono<ResponseEntity<Object>> badRequest(String message) {
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).<Object>body(Map.of("message", message)));
+    }
+}
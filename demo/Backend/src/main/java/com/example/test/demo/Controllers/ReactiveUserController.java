@@ -0,0 +1,113 @@
+package com.example.test.demo.Controllers;
+
+import com.example.test.demo.Schema.User;
+import com.example.test.demo.Services.User.ReactiveUserService;
+import com.example.test.demo.Services.User.Session;
+import com.example.test.demo.Services.User.SessionService;
+import com.example.test.demo.Services.User.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Optional;
+
+// Same contract as UserController, served when the app runs on WebFlux (reactive profile).
+@RestController
+@RequestMapping("/api/user")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserController {
+
+    @Autowired
+    private ReactiveUserService userService;
+
+    @Autowired
+    private UserService blockingUserService;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @PostMapping("/signin")
+    public Mono<ResponseEntity<Object>> createUser(@RequestBody Map<String,String> req, ServerHttpResponse res){
+        String name = req.get("name");
+        String email = req.get("email");
+        String mobile = req.get("mobile");
+        String password = req.get("password");
+        String confirmPassword = req.get("confirmPassword");
+
+        if (name == null || name.isBlank() ||
+                email == null || email.isBlank() ||
+                mobile == null || mobile.isBlank() ||
+                password == null || password.isBlank() ||
+                confirmPassword == null || confirmPassword.isBlank()) {
+            return badRequest("All fields (name, email, mobile, password, confirmPassword) are required");
+        }
+
+        if(!password.equals(confirmPassword)){
+            return badRequest("Passwords do not match");
+        }
+
+        User newUser = new User(name, mobile, email, blockingUserService.hash(password));
+        return userService.newUser(newUser)
+                .map(user -> {
+                    sessionService.start(res, user);
+                    return ResponseEntity.ok().<Object>body(Map.of(
+                            "message", "User created successfully",
+                            "user", user
+                    ));
+                })
+                .onErrorResume(e -> badRequest(e.getMessage()));
+    }
+
+    @GetMapping("/data")
+    public Mono<ResponseEntity<Object>> getUsers(@CookieValue(value = SessionService.COOKIE, required = false) String token){
+        Optional<Session> session = sessionService.verify(token);
+        if(session.isEmpty()){
+            return badRequest("User not found");
+        }
+
+        Mono<User> user = sessionService.cachedUser(session.get())
+                .map(Mono::just)
+                .orElseGet(() -> userService.findById(session.get().getUserId()).doOnNext(sessionService::cacheUser));
+
+        return user
+                .map(u -> ResponseEntity.ok().<Object>body(u))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "User not found in database")))
+                .onErrorResume(e -> badRequest(e.getMessage()));
+    }
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<Object>> login(@RequestBody Map<String,String> req, ServerHttpResponse res){
+        String userId = req.getOrDefault("userId", "");
+        String password = req.getOrDefault("password", "");
+
+        if(userId.isEmpty() || password.isEmpty()){
+            return badRequest("All  fields (userId, password) are required");
+        }
+
+        return userService.login(userId, password)
+                .map(user -> {
+                    sessionService.start(res, user);
+                    return ResponseEntity.ok().<Object>body(Map.of(
+                            "message", "User Login successfully",
+                            "user", user
+                    ));
+                })
+                .onErrorResume(e -> badRequest(e.getMessage()));
+    }
+
+    @GetMapping("/logout")
+    public Mono<ResponseEntity<Object>> logout(@CookieValue(value = SessionService.COOKIE, required = false) String token,
+                                               ServerHttpResponse res){
+        sessionService.end(token, res);
+        return Mono.just(ResponseEntity.ok().<Object>body(Map.of("message", "User successfully logged out")));
+    }
+
+    private static Mono<ResponseEntity<Object>> badRequest(String message) {
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).<Object>body(Map.of("message", message)));
+    }
+}
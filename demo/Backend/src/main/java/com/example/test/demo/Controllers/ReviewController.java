@@ -1,30 +1,44 @@
 package com.example.test.demo.Controllers;
 
+import com.example.test.demo.Services.Movie.MovieService;
+import com.example.test.demo.Services.Review.ReviewPage;
 import com.example.test.demo.Services.Review.ReviewService;
-import com.example.test.demo.Schema.Review;
+import com.example.test.demo.Services.Review.UserReviewPage;
+import com.example.test.demo.Services.User.Session;
+import com.example.test.demo.Services.User.SessionService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/review")
 public class ReviewController {
 
     @Autowired
     private ReviewService reviewService;
 
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private MovieService movieService;
+
     @PostMapping("/")
-    public ResponseEntity<?> createReview(@RequestBody Map<String,String> req,
-                                          @CookieValue(value = "user_id", required = false) String id,
-                                          @CookieValue(value = "name", required = false) String name){
+    public CompletableFuture<ResponseEntity<?>> createReview(@RequestBody Map<String,String> req, HttpServletRequest request){
         try{
             String imdbId = req.getOrDefault("imdbId","");
             String body = req.getOrDefault("body","");
@@ -33,38 +47,116 @@ public class ReviewController {
                 throw new RuntimeException("Provide Comment");
             }
 
-            if(id == null || id.isEmpty() || name == null || name.isEmpty()){
+            Optional<Session> session = sessionService.session(request);
+            if(session.isEmpty()){
                 throw new RuntimeException("Login To Continue");
             }
 
-            String decodedId = URLDecoder.decode(id, StandardCharsets.UTF_8);
-            String decodedName = URLDecoder.decode(name, StandardCharsets.UTF_8);
+            return reviewService.submitReview(body, rating(req), imdbId, session.get().getUserId(), session.get().getName())
+                    .<ResponseEntity<?>>thenApply(saved -> new ResponseEntity<>(saved, HttpStatus.OK))
+                    .exceptionally(ReviewController::failure);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(failure(e));
+        }
+    }
 
-            ObjectId userId = new ObjectId(decodedId);
+    // Optional; a rating outside 1..5 is rejected by the service.
+    static Integer rating(Map<String,String> req) {
+        String rating = req.get("rating");
+        if (rating == null || rating.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(rating.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Rating must be a whole number of stars");
+        }
+    }
 
-            Review saved = reviewService.newReview(body, imdbId, userId, decodedName);
-            return new ResponseEntity<>(saved, HttpStatus.OK);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
+    private static ResponseEntity<?> failure(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("message", cause.getMessage()));
         }
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", String.valueOf(cause.getMessage())));
     }
 
-    @GetMapping("/viewreview")
-    public ResponseEntity<?> viewReview(@RequestBody Map<String,String> req){
+    @RequestMapping(value = "/viewreview", method = {RequestMethod.GET, RequestMethod.POST})
+    public ResponseEntity<?> viewReview(@RequestBody(required = false) Map<String,String> req,
+                                        @RequestParam(value = "imdbId", required = false) String imdbIdParam,
+                                        @RequestParam(value = "size", defaultValue = "" + ReviewService.DEFAULT_PAGE_SIZE) int size,
+                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                        ServletWebRequest webRequest){
         try{
-            String imdbId = req.getOrDefault("imdbId","");
+            String imdbId = imdbIdParam != null ? imdbIdParam : (req != null ? req.getOrDefault("imdbId","") : "");
             if(imdbId == null || imdbId.isEmpty()){
                 throw new RuntimeException("Provide IMDB");
             }
 
-            Optional<List<Review>> r = reviewService.findRev(imdbId);
+            // Every review write bumps the movie's version, so its stamp validates the review pages too.
+            // Only GET is cacheable; a POST lookup is always answered in full.
+            if (webRequest.getHttpMethod() == HttpMethod.GET) {
+                Optional<MovieService.Stamp> stamp = movieService.stamp(imdbId);
+                if (stamp.isPresent() && webRequest.checkNotModified(stamp.get().reviewsEtag(), stamp.get().lastModified())) {
+                    return null;
+                }
+            }
+
+            ReviewPage page = reviewService.findRev(imdbId, size, cursor);
+
+            ResponseEntity.BodyBuilder res = ResponseEntity.status(HttpStatus.OK);
+            if (page.getNext() != null) {
+                res.header(MovieController.NEXT_CURSOR_HEADER, page.getNext());
+            }
+            return res.body(page.getReviews());
+        }
+        catch (Exception e){
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
+        }
+
+    }
+
+    // Review history for a profile page, newest first; page on with the cursor from the next-page header.
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<?> userReviews(@PathVariable String userId,
+                                         @RequestParam(value = "size", defaultValue = "" + ReviewService.DEFAULT_PAGE_SIZE) int size,
+                                         @RequestParam(value = "cursor", required = false) String cursor){
+        try{
+            if(!ObjectId.isValid(userId)){
+                throw new RuntimeException("Invalid user id");
+            }
+            return history(reviewService.findByUser(new ObjectId(userId), size, cursor));
+        }
+        catch (Exception e){
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
+        }
+    }
 
-            return ResponseEntity.status(HttpStatus.OK).body(r);
+    // The signed-in user's own history.
+    @GetMapping("/user/me")
+    public ResponseEntity<?> myReviews(@RequestParam(value = "size", defaultValue = "" + ReviewService.DEFAULT_PAGE_SIZE) int size,
+                                       @RequestParam(value = "cursor", required = false) String cursor,
+                                       HttpServletRequest request){
+        try{
+            Optional<Session> session = sessionService.session(request);
+            if(session.isEmpty()){
+                throw new RuntimeException("Login To Continue");
+            }
+            return history(reviewService.findByUser(session.get().getUserId(), size, cursor));
         }
         catch (Exception e){
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
         }
+    }
 
+    static ResponseEntity<?> history(UserReviewPage page) {
+        ResponseEntity.BodyBuilder res = ResponseEntity.status(HttpStatus.OK);
+        if (page.getNext() != null) {
+            res.header(MovieController.NEXT_CURSOR_HEADER, page.getNext());
+        }
+        return res.body(page.getReviews());
     }
 
     @GetMapping("/delete")
@@ -1,23 +1,22 @@
 package com.example.test.demo.Controllers;
 
+import com.example.test.demo.Services.User.SessionService;
 import com.example.test.demo.Services.User.UserRepo;
 import com.example.test.demo.Services.User.UserService;
 import com.example.test.demo.Schema.User;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Optional;
 
-import static com.example.test.demo.Utility.Util.*;
-
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/user")
 public class UserController {
 
@@ -25,9 +24,11 @@ public class UserController {
     private UserService userService;
     @Autowired
     private UserRepo userRepo;
+    @Autowired
+    private SessionService sessionService;
 
     @PostMapping("/signin")
-    public ResponseEntity<?> createUser(@RequestBody Map<String,String> req, HttpServletResponse res){
+    public ResponseEntity<?> createUser(@RequestBody Map<String,String> req, HttpServletRequest request, HttpServletResponse res){
         try {
             String name = req.get("name");
             String email = req.get("email");
@@ -47,17 +48,14 @@ public class UserController {
                 throw new RuntimeException("Passwords do not match");
             }
 
-            String hpassword = hashPassword(password);
+            String hpassword = userService.hash(password);
 
             User newUser = new User(name, mobile, email, hpassword);
             ResponseEntity<User> result = userService.newUser(newUser);
 
             assert result.getBody() != null;
 
-            addCookie(res, "user_id", result.getBody().getId().toString());
-            addCookie(res, "name", result.getBody().getName());
-            addCookie(res, "email", result.getBody().getEmail());
-            addCookie(res, "mobile", result.getBody().getMobile());
+            sessionService.start(request, res, result.getBody());
 
             return ResponseEntity.ok(Map.of(
                     "message", "User created successfully",
@@ -71,33 +69,19 @@ public class UserController {
     }
 
     @GetMapping("/data")
-    public ResponseEntity<?> getUsers(@CookieValue(value = "user_id", required = false) String id,
-                                      HttpServletResponse res){
+    public ResponseEntity<?> getUsers(HttpServletRequest request){
         try {
-            String userId = id != null ? URLDecoder.decode(id, StandardCharsets.UTF_8) : "";
-
-            if(userId.isEmpty()){
+            if(sessionService.session(request).isEmpty()){
                 throw new RuntimeException("User not found");
             }
 
-            ObjectId uid = new ObjectId(userId);
-            Optional<User> optionalUser = userService.findById(uid).getBody() instanceof Optional
-                    ? (Optional<User>) userService.findById(uid).getBody()
-                    : Optional.empty();
+            Optional<User> optionalUser = sessionService.currentUser(request);
 
             if (optionalUser.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "User not found in database"));
             }
 
-            User user = optionalUser.get();
-
-            // Refresh cookies (optional logic)
-            addCookie(res, "user_id", user.getId().toString());
-            addCookie(res, "name", user.getName());
-            addCookie(res, "email", user.getEmail());
-            addCookie(res, "mobile", user.getMobile());
-
-            return  ResponseEntity.ok(user);
+            return  ResponseEntity.ok(optionalUser.get());
         }
         catch (Exception e){
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
@@ -106,7 +90,7 @@ public class UserController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody Map<String,String> req, HttpServletResponse res){
+    public ResponseEntity<?> login(@RequestBody Map<String,String> req, HttpServletRequest request, HttpServletResponse res){
         try{
             String userId = req.getOrDefault("userId", "");
             String password = req.getOrDefault("password", "");
@@ -115,8 +99,9 @@ public class UserController {
                 throw new RuntimeException("All  fields (userId, password) are required");
             }
 
-            Optional<User> optionalUser = userService.login(userId,password).getBody() instanceof Optional
-                    ? (Optional<User>) userService.login(userId,password).getBody()
+            Object body = userService.login(userId,password).getBody();
+            Optional<User> optionalUser = body instanceof Optional
+                    ? (Optional<User>) body
                     : Optional.empty();
 
             if (optionalUser.isEmpty()) {
@@ -125,11 +110,7 @@ public class UserController {
 
             User user = optionalUser.get();
 
-            // Refresh cookies (optional logic)
-            addCookie(res, "user_id", user.getId().toString());
-            addCookie(res, "name", user.getName());
-            addCookie(res, "email", user.getEmail());
-            addCookie(res, "mobile", user.getMobile());
+            sessionService.start(request, res, user);
 
             return ResponseEntity.ok(Map.of(
                     "message", "User Login successfully",
@@ -143,12 +124,9 @@ public class UserController {
     }
 
     @GetMapping("/logout")
-    public ResponseEntity<?> logout(HttpServletResponse res){
+    public ResponseEntity<?> logout(HttpServletRequest request, HttpServletResponse res){
         try{
-            clearCookie(res, "user_id");
-            clearCookie(res, "name");
-            clearCookie(res, "email");
-            clearCookie(res, "mobile");
+            sessionService.end(request, res);
 
             return ResponseEntity.ok(Map.of("message", "User successfully logged out"));
         }
@@ -5,12 +5,15 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.data.mongodb.core.mapping.DocumentReference;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Document(collection = "Movies")
+@CompoundIndex(name = "ratings_average_count", def = "{'ratings.average': -1, 'ratings.count': -1}")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -19,8 +22,10 @@ public class Movie {
     @Id
     private ObjectId id;
 
+    @Indexed(unique = true)
     private String imdbId;
 
+    @Indexed
     private String title;
 
     private String releaseDate;
@@ -33,6 +38,13 @@ public class Movie {
 
     private List<String> backdrops;
 
-    @DocumentReference
-    private List<Review> reviewIds;
+    private Ratings ratings;
+
+    // Every review, rated or not; ratings.count only covers the rated ones
+    private Long reviewCount;
+
+    // Bumped, with updatedAt, by every write to the movie or its reviews; the validator for both
+    private Long version;
+
+    private LocalDateTime updatedAt;
 }
@@ -0,0 +1,24 @@
+package com.example.test.demo.Schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// Per-movie star rating aggregate, maintained incrementally by every rated review insert and delete.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Ratings {
+
+    private long count;
+
+    private long sum;
+
+    // sum / count, stored so the top-rated listing can be served from an index
+    private Double average;
+
+    // Stars ("1".."5") -> number of reviews giving that many
+    private Map<String, Long> histogram;
+}
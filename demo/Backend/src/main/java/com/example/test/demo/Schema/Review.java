@@ -7,11 +7,17 @@ import org.bson.types.ObjectId;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Document(collection = "Review")
+@CompoundIndexes({
+        @CompoundIndex(name = "imdbId_createdAt", def = "{'imdbId': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "userId_createdAt", def = "{'userId': 1, 'createdAt': -1, '_id': -1}")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -22,6 +28,9 @@ public class Review {
 
     private String body;
 
+    // 1 to 5 stars; null for reviews written without a rating
+    private Integer rating;
+
     private ObjectId userId;
 
     private String imdbId;
@@ -7,6 +7,7 @@ import org.bson.types.ObjectId;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -22,8 +23,10 @@ public class User {
 
     private String name;
 
+    @Indexed(unique = true)
     private String mobile;
 
+    @Indexed(unique = true)
     private String email;
 
     private String password;
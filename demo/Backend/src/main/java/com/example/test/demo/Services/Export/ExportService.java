@@ -0,0 +1,99 @@
+package com.example.test.demo.Services.Export;
+
+import com.example.test.demo.Schema.Movie;
+import com.example.test.demo.Schema.Review;
+import com.example.test.demo.Schema.User;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dumps a collection as NDJSON (relaxed Extended JSON, so mongoimport can load it back) straight from a
+ * cursor in _id order. Documents are written one at a time and never collected, so heap use does not grow
+ * with the collection. Passing the _id of the last line received resumes an interrupted export.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportService.class);
+
+    private static final int CURSOR_BATCH_SIZE = 1000;
+
+    private static final int PROGRESS_INTERVAL = 100_000;
+
+    private static final JsonWriterSettings JSON = JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).build();
+
+    private static final Map<String, Class<?>> COLLECTIONS = Map.of(
+            "movies", Movie.class,
+            "reviews", Review.class,
+            "users", User.class);
+
+    // Fields that never leave the database
+    private static final Map<String, List<String>> EXCLUDED = Map.of(
+            "users", List.of("password"));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public static Set<String> collections() {
+        return COLLECTIONS.keySet();
+    }
+
+    // Returns the number of documents written.
+    public long export(String collection, ObjectId after, OutputStream out) throws IOException {
+        Class<?> type = COLLECTIONS.get(collection);
+        if (type == null) {
+            throw new RuntimeException("Unknown collection " + collection + ", expected one of " + collections());
+        }
+
+        Bson filter = after != null ? Filters.gt("_id", after) : Filters.empty();
+        Bson projection = Projections.exclude(EXCLUDED.getOrDefault(collection, List.of()));
+
+        long count = 0;
+        Object last = after;
+        long start = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(mongoTemplate.getCollectionName(type))
+                .find(filter)
+                .projection(projection)
+                .sort(Sorts.ascending("_id"))
+                .batchSize(CURSOR_BATCH_SIZE)
+                .cursor()) {
+            while (cursor.hasNext()) {
+                Document doc = cursor.next();
+                writer.write(doc.toJson(JSON));
+                writer.write('\n');
+                last = doc.get("_id");
+                if (++count % PROGRESS_INTERVAL == 0) {
+                    log.info("Export {}: {} documents, checkpoint {}", collection, count, last);
+                }
+            }
+        }
+        writer.flush();
+
+        log.info("Export {} done: {} documents in {} ms, checkpoint {}", collection, count,
+                (System.nanoTime() - start) / 1_000_000, last);
+        return count;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.test.demo.Services.Movie;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class BrowseResult {
+
+    // Movies matching all filters
+    private int total;
+
+    // Genre -> number of matching movies that also have that genre
+    private Map<String, Integer> facets;
+
+    private List<TitleMatch> movies;
+}
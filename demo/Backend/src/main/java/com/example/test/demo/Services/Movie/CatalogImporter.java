@@ -0,0 +1,313 @@
+package com.example.test.demo.Services.Movie;
+
+import com.example.test.demo.Schema.Movie;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streaming catalog loader. The input (NDJSON, or one JSON array) is read token by token, so only the
+ * current document is ever parsed into a tree. Valid movies are grouped into batches keyed by imdbId
+ * and written as unordered bulk upserts by a small pool of writers. The reader blocks once
+ * `parallelism` batches are in flight, so memory stays at a few batches whatever the file size.
+ */
+@Service
+public class CatalogImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogImporter.class);
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final long PROGRESS_INTERVAL_NANOS = 5_000_000_000L;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Value("${cinemate.import.batch-size:1000}")
+    private int defaultBatchSize;
+
+    @Value("${cinemate.import.parallelism:4}")
+    private int defaultParallelism;
+
+    public enum Mode {
+        // New imdbIds are inserted, existing movies are left untouched
+        INSERT,
+        // New imdbIds are inserted, existing movies are overwritten field by field
+        UPSERT
+    }
+
+    public ImportReport importMovies(InputStream in, Mode mode) throws IOException {
+        return importMovies(in, mode, defaultBatchSize, defaultParallelism);
+    }
+
+    public ImportReport importMovies(InputStream in, Mode mode, int batchSize, int parallelism) throws IOException {
+        Run run = new Run(mode, Math.max(1, batchSize), Math.max(1, parallelism));
+        ObjectReader reader = objectMapper.readerFor(Movie.class)
+                .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in);
+             ExecutorService writers = Executors.newFixedThreadPool(run.parallelism)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+
+            List<Movie> batch = new ArrayList<>(run.batchSize);
+            List<Long> positions = new ArrayList<>(run.batchSize);
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                long position = run.read.incrementAndGet();
+                JsonNode node = objectMapper.readTree(parser);
+                Movie movie = validate(node, reader, position, run);
+                if (movie != null) {
+                    batch.add(movie);
+                    positions.add(position);
+                }
+                if (batch.size() >= run.batchSize) {
+                    run.submit(writers, batch, positions);
+                    batch = new ArrayList<>(run.batchSize);
+                    positions = new ArrayList<>(run.batchSize);
+                }
+                run.progress();
+                token = parser.nextToken();
+            }
+            if (!batch.isEmpty()) {
+                run.submit(writers, batch, positions);
+            }
+            run.await();
+        }
+
+        ImportReport report = run.report();
+        log.info("Catalog import done: {} read, {} inserted, {} matched, {} invalid, {} failed in {} ms ({}/s)",
+                report.getRead(), report.getInserted(), report.getMatched(), report.getInvalid(),
+                report.getFailed(), report.getElapsedMs(), report.getPerSecond());
+        return report;
+    }
+
+    private Movie validate(JsonNode node, ObjectReader reader, long position, Run run) {
+        if (!(node instanceof ObjectNode object)) {
+            run.invalid(position, "not a JSON object");
+            return null;
+        }
+        // Ids, version stamps, rating aggregates and review counts belong to this database; the catalog is keyed by imdbId.
+        object.remove(List.of("id", "_id", "reviewIds", "version", "updatedAt", "ratings", "reviewCount"));
+
+        Movie movie;
+        try {
+            movie = reader.readValue(object);
+        } catch (JsonProcessingException e) {
+            run.invalid(position, e.getOriginalMessage());
+            return null;
+        } catch (IOException e) {
+            run.invalid(position, e.getMessage());
+            return null;
+        }
+        if (movie.getImdbId() == null || movie.getImdbId().isBlank()) {
+            run.invalid(position, "imdbId is required");
+            return null;
+        }
+        if (movie.getTitle() == null || movie.getTitle().isBlank()) {
+            run.invalid(position, "title is required");
+            return null;
+        }
+        return movie;
+    }
+
+    // Runs on a writer thread.
+    private void write(List<Movie> batch, List<Long> positions, Run run) {
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Movie.class);
+        for (Movie movie : batch) {
+            Document doc = new Document();
+            mongoTemplate.getConverter().write(movie, doc);
+            doc.remove("_id");
+
+            Update update = new Update();
+            doc.forEach(run.mode == Mode.UPSERT ? update::set : update::setOnInsert);
+            if (run.mode == Mode.UPSERT) {
+                update.inc("version", 1).currentDate("updatedAt");
+            }
+            ops.upsert(Query.query(Criteria.where("imdbId").is(movie.getImdbId())), update);
+        }
+
+        BulkWriteResult result;
+        List<BulkWriteError> errors = List.of();
+        try {
+            result = ops.execute();
+        } catch (BulkOperationException e) {
+            result = e.getResult();
+            errors = e.getErrors();
+        }
+
+        run.inserted.addAndGet(result.getUpserts().size());
+        run.matched.addAndGet(result.getMatchedCount());
+        for (BulkWriteError error : errors) {
+            run.failed(positions.get(error.getIndex()), error.getMessage());
+        }
+
+        // Bulk writes skip the entity events, so the in-memory views are refreshed here, once per batch.
+        Map<String, Movie> written = new HashMap<>();
+        result.getUpserts().forEach(u -> {
+            Movie movie = batch.get(u.getIndex());
+            movie.setId(u.getId().asObjectId().getValue());
+            written.put(movie.getImdbId(), movie);
+        });
+        if (run.mode == Mode.UPSERT && result.getMatchedCount() > 0) {
+            List<String> existing = batch.stream().map(Movie::getImdbId).filter(i -> !written.containsKey(i)).toList();
+            Query ids = Query.query(Criteria.where("imdbId").in(existing));
+            ids.fields().include("_id", "imdbId");
+            Map<String, ObjectId> found = new HashMap<>();
+            mongoTemplate.find(ids, Movie.class).forEach(m -> found.put(m.getImdbId(), m.getId()));
+            for (Movie movie : batch) {
+                ObjectId id = found.get(movie.getImdbId());
+                if (id != null && !written.containsKey(movie.getImdbId())) {
+                    movie.setId(id);
+                    written.put(movie.getImdbId(), movie);
+                }
+            }
+        }
+        movieService.refreshAll(written.values());
+    }
+
+    private final class Run {
+
+        final Mode mode;
+
+        final int batchSize;
+
+        final int parallelism;
+
+        final Semaphore inFlight;
+
+        final List<Future<?>> pending = new ArrayList<>();
+
+        final AtomicLong read = new AtomicLong();
+
+        final AtomicLong inserted = new AtomicLong();
+
+        final AtomicLong matched = new AtomicLong();
+
+        final AtomicLong invalid = new AtomicLong();
+
+        final AtomicLong failed = new AtomicLong();
+
+        final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+        final long start = System.nanoTime();
+
+        long lastProgress = start;
+
+        Run(Mode mode, int batchSize, int parallelism) {
+            this.mode = mode;
+            this.batchSize = batchSize;
+            this.parallelism = parallelism;
+            this.inFlight = new Semaphore(parallelism);
+        }
+
+        // Blocks the reader while every writer is busy; this is the backpressure on the input.
+        void submit(ExecutorService writers, List<Movie> batch, List<Long> positions) throws IOException {
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Import interrupted", e);
+            }
+            pending.removeIf(Future::isDone);
+            pending.add(writers.submit(() -> {
+                try {
+                    write(batch, positions, this);
+                } catch (RuntimeException e) {
+                    log.error("Import batch of {} failed", batch.size(), e);
+                    failed(positions.get(0), "batch of " + batch.size() + " failed: " + e.getMessage());
+                    failed.addAndGet(batch.size() - 1);
+                } finally {
+                    inFlight.release();
+                }
+            }));
+        }
+
+        void await() throws IOException {
+            for (Future<?> f : pending) {
+                try {
+                    f.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Import interrupted", e);
+                } catch (ExecutionException e) {
+                    throw new IOException(e.getCause());
+                }
+            }
+        }
+
+        void invalid(long position, String message) {
+            invalid.incrementAndGet();
+            error(position, message);
+        }
+
+        void failed(long position, String message) {
+            failed.incrementAndGet();
+            error(position, message);
+        }
+
+        private void error(long position, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("#" + position + ": " + message);
+            }
+        }
+
+        void progress() {
+            long now = System.nanoTime();
+            if (now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                lastProgress = now;
+                log.info("Catalog import: {} read, {} inserted, {} matched, {} invalid, {} failed ({}/s)",
+                        read.get(), inserted.get(), matched.get(), invalid.get(), failed.get(),
+                        read.get() * 1_000_000_000L / Math.max(1, now - start));
+            }
+        }
+
+        ImportReport report() {
+            long elapsed = System.nanoTime() - start;
+            return new ImportReport(read.get(), inserted.get(), matched.get(), invalid.get(), failed.get(),
+                    elapsed / 1_000_000, read.get() * 1_000_000_000L / Math.max(1, elapsed), List.copyOf(errors));
+        }
+    }
+}
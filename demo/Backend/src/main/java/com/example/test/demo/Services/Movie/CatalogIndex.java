@@ -0,0 +1,246 @@
+package com.example.test.demo.Services.Movie;
+
+import com.example.test.demo.Schema.Movie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Columnar in-memory index for genre/release-date browsing. Each movie gets an ordinal; genres are
+ * dictionary-encoded and stored as one bitset column per genre (long words over ordinals), release
+ * dates as a primitive yyyymmdd array. A filter is a few word-wise ANDs plus one pass over the date
+ * column, and each facet count is a popcount of the filter against a genre column.
+ * Only imdbIds are kept per movie; display fields come from {@link TitleIndex}.
+ */
+@Component
+public class CatalogIndex implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogIndex.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> ordinals = new HashMap<>();
+
+    private String[] imdbIds = new String[1024];
+
+    private int[] dates = new int[1024];
+
+    private long[] live = new long[16];
+
+    // genre code -> column; lowercase genre -> code; code -> display name
+    private final List<long[]> genreColumns = new ArrayList<>();
+
+    private final Map<String, Integer> genreCodes = new HashMap<>();
+
+    private final List<String> genreNames = new ArrayList<>();
+
+    private int size;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+
+        Query query = new Query().cursorBatchSize(1000);
+        query.fields().include("imdbId", "genres", "releaseDate");
+        try (Stream<Movie> movies = mongoTemplate.stream(query, Movie.class)) {
+            movies.forEach(this::upsert);
+        }
+
+        log.info("Catalog index built: {} movies, {} genres in {} ms", size, genreNames.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void upsert(Movie movie) {
+        if (movie.getImdbId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinals.get(movie.getImdbId());
+            int ord = existing != null ? existing : size++;
+            if (existing == null) {
+                ensureCapacity(size);
+                ordinals.put(movie.getImdbId(), ord);
+                imdbIds[ord] = movie.getImdbId();
+            }
+
+            for (long[] column : genreColumns) {
+                clear(column, ord);
+            }
+            if (movie.getGenres() != null) {
+                for (String genre : movie.getGenres()) {
+                    set(genreColumns.get(genreCode(genre)), ord);
+                }
+            }
+            dates[ord] = parseDate(movie.getReleaseDate(), false);
+            set(live, ord);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The ordinal stays allocated; only its live bit is cleared.
+    public void remove(String imdbId) {
+        lock.writeLock().lock();
+        try {
+            Integer ord = ordinals.get(imdbId);
+            if (ord != null) {
+                clear(live, ord);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Movies having every requested genre and a release date within [from, to] (either bound may be
+     * null; "YYYY", "YYYY-MM" or "YYYY-MM-DD"), with per-genre facet counts over the matching set.
+     * Returns imdbIds of the page [offset, offset + limit) in catalog order.
+     */
+    public Result browse(List<String> genres, String from, String to, int offset, int limit) {
+        int lo = from == null || from.isBlank() ? Integer.MIN_VALUE : parseDate(from, false);
+        int hi = to == null || to.isBlank() ? Integer.MAX_VALUE : parseDate(to, true);
+
+        lock.readLock().lock();
+        try {
+            int words = (size + 63) >>> 6;
+            long[] selected = Arrays.copyOf(live, words);
+
+            if (genres != null) {
+                for (String genre : genres) {
+                    Integer code = genreCodes.get(genre.toLowerCase(Locale.ROOT));
+                    if (code == null) {
+                        Arrays.fill(selected, 0L);
+                        break;
+                    }
+                    long[] column = genreColumns.get(code);
+                    for (int w = 0; w < words; w++) {
+                        selected[w] &= column[w];
+                    }
+                }
+            }
+
+            if (lo != Integer.MIN_VALUE || hi != Integer.MAX_VALUE) {
+                for (int w = 0; w < words; w++) {
+                    long bits = selected[w];
+                    while (bits != 0) {
+                        int ord = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                        int date = dates[ord];
+                        if (date == 0 || date < lo || date > hi) {
+                            selected[w] &= ~(1L << ord);
+                        }
+                    }
+                }
+            }
+
+            int total = 0;
+            for (int w = 0; w < words; w++) {
+                total += Long.bitCount(selected[w]);
+            }
+
+            Map<String, Integer> facets = new LinkedHashMap<>();
+            for (int code = 0; code < genreColumns.size(); code++) {
+                long[] column = genreColumns.get(code);
+                int count = 0;
+                for (int w = 0; w < words; w++) {
+                    count += Long.bitCount(selected[w] & column[w]);
+                }
+                if (count > 0) {
+                    facets.put(genreNames.get(code), count);
+                }
+            }
+
+            List<String> page = new ArrayList<>(Math.min(limit, total));
+            int skipped = 0;
+            for (int w = 0; w < words && page.size() < limit; w++) {
+                long bits = selected[w];
+                while (bits != 0 && page.size() < limit) {
+                    int ord = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (skipped++ >= offset) {
+                        page.add(imdbIds[ord]);
+                    }
+                }
+            }
+
+            return new Result(total, facets, page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public record Result(int total, Map<String, Integer> facets, List<String> imdbIds) {
+    }
+
+    // Write lock held
+    private int genreCode(String genre) {
+        return genreCodes.computeIfAbsent(genre.toLowerCase(Locale.ROOT), g -> {
+            genreNames.add(genre);
+            genreColumns.add(new long[live.length]);
+            return genreNames.size() - 1;
+        });
+    }
+
+    // Write lock held
+    private void ensureCapacity(int movies) {
+        if (movies > imdbIds.length) {
+            int capacity = Math.max(movies, imdbIds.length * 2);
+            imdbIds = Arrays.copyOf(imdbIds, capacity);
+            dates = Arrays.copyOf(dates, capacity);
+        }
+        int words = (movies + 63) >>> 6;
+        if (words > live.length) {
+            int capacity = Math.max(words, live.length * 2);
+            live = Arrays.copyOf(live, capacity);
+            genreColumns.replaceAll(column -> Arrays.copyOf(column, capacity));
+        }
+    }
+
+    /**
+     * Digits of "YYYY-MM-DD" as yyyymmdd; missing month/day become the lowest or, for an upper bound,
+     * the highest value. 0 when unparseable.
+     */
+    static int parseDate(String s, boolean upper) {
+        if (s == null) {
+            return 0;
+        }
+        String digits = s.replaceAll("[^0-9]", "");
+        try {
+            return switch (digits.length()) {
+                case 4 -> Integer.parseInt(digits) * 10000 + (upper ? 9999 : 0);
+                case 6 -> Integer.parseInt(digits) * 100 + (upper ? 99 : 0);
+                default -> digits.length() >= 8 ? Integer.parseInt(digits.substring(0, 8)) : 0;
+            };
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static void set(long[] bits, int ord) {
+        bits[ord >>> 6] |= 1L << ord;
+    }
+
+    private static void clear(long[] bits, int ord) {
+        bits[ord >>> 6] &= ~(1L << ord);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.test.demo.Services.Movie;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ImportReport {
+
+    // Documents parsed from the input, valid or not
+    private long read;
+
+    private long inserted;
+
+    // Movies already in the catalog: overwritten in upsert mode, left untouched in insert mode
+    private long matched;
+
+    // Documents failing validation; never sent to Mongo
+    private long invalid;
+
+    // Writes Mongo rejected
+    private long failed;
+
+    private long elapsedMs;
+
+    private long perSecond;
+
+    // First few problems, with the 1-based position of the document in the input
+    private List<String> errors;
+}
@@ -0,0 +1,30 @@
+package com.example.test.demo.Services.Movie;
+
+import com.example.test.demo.Schema.Movie;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+// Keeps the movie cache and title index in step with saves and deletes made through Spring Data.
+@Component
+public class MovieEventListener extends AbstractMongoEventListener<Movie> {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Movie> event) {
+        movieService.refresh(event.getSource());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Movie> event) {
+        Object id = event.getSource().get("_id");
+        if (id instanceof ObjectId objectId) {
+            movieService.removed(objectId);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.test.demo.Services.Movie;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse fieldsets for movie responses: a named view (card, detail, full) or an explicit fields= list.
+ * The same selection becomes the Mongo projection, so unselected fields are never read, and then trims
+ * the JSON, so they are never written either. A null selection means the whole document.
+ */
+public final class MovieFields {
+
+    public static final List<String> ALL = List.of(
+            "id", "imdbId", "title", "releaseDate", "trailerLink", "poster", "genres", "backdrops", "ratings", "reviewCount", "version", "updatedAt");
+
+    private static final Map<String, List<String>> VIEWS = Map.of(
+            "card", List.of("id", "imdbId", "title", "poster", "reviewCount"),
+            "detail", List.of("id", "imdbId", "title", "releaseDate", "trailerLink", "poster", "genres", "ratings", "reviewCount", "version", "updatedAt"),
+            "full", ALL);
+
+    private MovieFields() {
+    }
+
+    // fields= wins over view=; neither, or view=full, selects everything.
+    public static Set<String> resolve(String view, String fields) {
+        if (fields != null && !fields.isBlank()) {
+            Set<String> selected = new LinkedHashSet<>();
+            for (String f : fields.split(",")) {
+                String field = f.trim();
+                if (field.isEmpty()) {
+                    continue;
+                }
+                if (!ALL.contains(field)) {
+                    throw new RuntimeException("Unknown field " + field + ", expected any of " + ALL);
+                }
+                selected.add(field);
+            }
+            return selected.isEmpty() || selected.containsAll(ALL) ? null : selected;
+        }
+        if (view == null || view.isBlank()) {
+            return null;
+        }
+        List<String> named = VIEWS.get(view.toLowerCase(Locale.ROOT));
+        if (named == null) {
+            throw new RuntimeException("Unknown view " + view + ", expected one of " + VIEWS.keySet());
+        }
+        return named == ALL ? null : new LinkedHashSet<>(named);
+    }
+
+    // _id always comes back from Mongo; page cursors are built from it.
+    public static Query project(Query query, Set<String> fields) {
+        if (fields != null) {
+            query.fields().include(fields.toArray(String[]::new));
+        }
+        return query;
+    }
+
+    public static Object trim(ObjectMapper objectMapper, Object movie, Set<String> fields) {
+        if (fields == null) {
+            return movie;
+        }
+        ObjectNode node = objectMapper.valueToTree(movie);
+        node.retain(fields);
+        return node;
+    }
+}
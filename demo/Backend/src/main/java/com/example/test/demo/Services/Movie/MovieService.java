@@ -1,32 +1,389 @@
 package com.example.test.demo.Services.Movie;
 
 import com.example.test.demo.Schema.Movie;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 public class MovieService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+
+    static final int STREAM_BATCH_SIZE = 256;
+
+    public static final int MAX_SEARCH_RESULTS = 50;
+
+    // Alias cached for an id with no movie, so repeated misses cost no query. It expires after
+    // cinemate.cache.movies.negative-ttl, which bounds how long an id inserted later (e.g. by the catalog
+    // importer, which keeps the source _id) still reads as missing.
+    private static final String NO_MOVIE = "";
+
     @Autowired
     private Repo repo;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TitleIndex titleIndex;
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Value("${cinemate.cache.movies.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${cinemate.cache.movies.ttl:10m}")
+    private Duration cacheTtl;
+
+    @Value("${cinemate.cache.movies.negative-ttl:30s}")
+    private Duration negativeTtl;
+
+    @Value("${cinemate.cache.movies.rendered-max-bytes:64MB}")
+    private DataSize renderedMaxBytes;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Movies are cached once, by imdbId. Lookups by id or title go through small alias caches
+    // that only map to the imdbId, so invalidating a movie is a single key removal.
+    private AsyncCache<String, Movie> movies;
+
+    private AsyncCache<ObjectId, String> idAliases;
+
+    private AsyncCache<String, String> titleAliases;
+
+    // Response bytes for the hottest movies, bounded by total size. Dropped together with the movie entry.
+    private AsyncCache<String, Rendered> rendered;
+
+    @PostConstruct
+    public void initCache() {
+        movies = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .buildAsync();
+        idAliases = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(Expiry.writing((ObjectId id, String imdbId) -> NO_MOVIE.equals(imdbId) ? negativeTtl : cacheTtl))
+                .recordStats()
+                .buildAsync();
+        titleAliases = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .buildAsync();
+
+        rendered = Caffeine.newBuilder()
+                .maximumWeight(renderedMaxBytes.toBytes())
+                .weigher((String imdbId, Rendered r) -> r.json().length + r.gzip().length)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, movies.synchronous(), "movies");
+        CaffeineCacheMetrics.monitor(meterRegistry, idAliases.synchronous(), "movies.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, titleAliases.synchronous(), "movies.byTitle");
+        CaffeineCacheMetrics.monitor(meterRegistry, rendered.synchronous(), "movies.rendered");
+    }
+
     public List<Movie> findAll() {
         return repo.findAll();
     }
 
+    // Keyset page ordered by _id, so every page is an index range scan regardless of depth.
+    // fields (see MovieFields) limits what Mongo returns; null reads whole documents.
+    public List<Movie> findPage(ObjectId after, int limit, Set<String> fields) {
+        Query query = pageQuery(after, fields).limit(pageLimit(limit));
+        return mongoTemplate.find(query, Movie.class);
+    }
+
+    // Backed by a live Mongo cursor; the caller must close the stream.
+    public Stream<Movie> stream(ObjectId after, Set<String> fields) {
+        return mongoTemplate.stream(pageQuery(after, fields).cursorBatchSize(STREAM_BATCH_SIZE), Movie.class);
+    }
+
     public Optional<Movie> findById(ObjectId id) {
-        return repo.findById(id);
+        String imdbId = load(idAliases, id, this::loadImdbId);
+        if (NO_MOVIE.equals(imdbId)) {
+            return Optional.empty();
+        }
+        if (imdbId == null) {
+            return repo.findById(id);
+        }
+        return findByImdb(imdbId);
     }
 
     public Optional<Movie> findByName(String name) {
-        return repo.findByTitle(name);
+        String imdbId = load(titleAliases, name, t -> repo.findByTitle(t).map(Movie::getImdbId).orElse(null));
+        if (imdbId == null) {
+            return Optional.empty();
+        }
+        return findByImdb(imdbId);
     }
 
     public Optional<Movie> findByImdb(String name) {
-        return repo.findByImdbId(name);
+        return Optional.ofNullable(load(movies, name, k -> repo.findByImdbId(k).orElse(null)));
+    }
+
+    // The movie as response bytes, serialized and gzipped once and then served from memory until it changes.
+    public Optional<Rendered> findRendered(String imdbId) {
+        return Optional.ofNullable(load(rendered, imdbId, k -> findByImdb(k).map(this::render).orElse(null)));
+    }
+
+    public List<TitleMatch> search(String q, int limit) {
+        return titleIndex.search(q, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+    }
+
+    public BrowseResult browse(List<String> genres, String from, String to, int offset, int limit) {
+        CatalogIndex.Result r = catalogIndex.browse(genres, from, to, Math.max(0, offset), pageLimit(limit));
+        List<TitleMatch> movies = new ArrayList<>(r.imdbIds().size());
+        for (String imdbId : r.imdbIds()) {
+            TitleMatch match = titleIndex.get(imdbId);
+            if (match != null) {
+                movies.add(match);
+            }
+        }
+        // The two indexes are updated one after the other, so a movie mid-write can be in the catalog index
+        // but not (yet, or any longer) in the title index. It is left out of the page, so count it out of the total too.
+        int dropped = r.imdbIds().size() - movies.size();
+        return new BrowseResult(r.total() - dropped, r.facets(), movies);
+    }
+
+    /**
+     * Validators for a movie and its review list. Served from the cache when the movie is there,
+     * otherwise from a projection of the stamp fields alone, so revalidating never loads the document.
+     */
+    public Optional<Stamp> stamp(String imdbId) {
+        CompletableFuture<Rendered> bytes = rendered.getIfPresent(imdbId);
+        if (bytes != null && bytes.isDone() && !bytes.isCompletedExceptionally() && bytes.join() != null) {
+            return Optional.of(bytes.join().stamp());
+        }
+        CompletableFuture<Movie> cached = movies.getIfPresent(imdbId);
+        if (cached != null && cached.isDone() && !cached.isCompletedExceptionally() && cached.join() != null) {
+            return Optional.of(Stamp.of(cached.join()));
+        }
+
+        Query query = Query.query(Criteria.where("imdbId").is(imdbId));
+        query.fields().include("imdbId", "version", "updatedAt");
+        return Optional.ofNullable(mongoTemplate.findOne(query, Movie.class)).map(Stamp::of);
+    }
+
+    // Called after a write to the movie's reviews: applies the rating change and bumps the version in
+    // one update, then drops the cached copy.
+    public void reviewed(String imdbId, RatingDelta delta) {
+        reviewed(Map.of(imdbId, delta));
+    }
+
+    // One bulkWrite for any number of movies, e.g. a whole ingest batch.
+    public void reviewed(Map<String, RatingDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<UpdateOneModel<Document>> updates = new ArrayList<>(deltas.size());
+        deltas.forEach((imdbId, delta) -> updates.add(new UpdateOneModel<>(Filters.eq("imdbId", imdbId), delta.pipeline())));
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Movie.class))
+                .bulkWrite(updates, new BulkWriteOptions().ordered(false));
+        movies.synchronous().invalidateAll(deltas.keySet());
+        rendered.synchronous().invalidateAll(deltas.keySet());
+    }
+
+    // Highest average first, served from the (ratings.average, ratings.count) index.
+    public List<Movie> topRated(int minCount, int limit, Set<String> fields) {
+        Query query = Query.query(Criteria.where("ratings.count").gte(Math.max(1, minCount)))
+                .with(Sort.by(Sort.Direction.DESC, "ratings.average", "ratings.count"))
+                .limit(Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+        return mongoTemplate.find(MovieFields.project(query, fields), Movie.class);
+    }
+
+    // Title and poster for a page of imdbIds: whatever is cached, then the rest in one $in query. The
+    // projected documents are not cached, since the cache holds whole movies. Unknown ids are left out.
+    public Map<String, Movie> findCards(Collection<String> imdbIds) {
+        Set<String> missing = new HashSet<>(imdbIds);
+        Map<String, Movie> found = new HashMap<>(movies.synchronous().getAllPresent(missing));
+        missing.removeAll(found.keySet());
+        if (!missing.isEmpty()) {
+            for (Movie movie : mongoTemplate.find(cardsQuery(missing), Movie.class)) {
+                found.put(movie.getImdbId(), movie);
+            }
+        }
+        return found;
+    }
+
+    static Query cardsQuery(Collection<String> imdbIds) {
+        Query query = Query.query(Criteria.where("imdbId").in(imdbIds));
+        query.fields().include("imdbId", "title", "poster");
+        return query;
+    }
+
+    // Called after any write that changes what readers of this movie would see.
+    public void evict(String imdbId) {
+        movies.synchronous().invalidate(imdbId);
+        rendered.synchronous().invalidate(imdbId);
+    }
+
+    // Called after the movie document itself was written; its title may have changed.
+    public void refresh(Movie movie) {
+        if (movie.getImdbId() == null) {
+            return;
+        }
+        evict(movie.getImdbId());
+        titleAliases.synchronous().asMap().values().removeIf(movie.getImdbId()::equals);
+        titleIndex.upsert(movie);
+        catalogIndex.upsert(movie);
+    }
+
+    // Bulk counterpart of refresh for writes that bypass entity events, such as catalog imports.
+    public void refreshAll(Collection<Movie> changed) {
+        Set<String> imdbIds = new HashSet<>();
+        changed.forEach(m -> imdbIds.add(m.getImdbId()));
+        movies.synchronous().invalidateAll(imdbIds);
+        rendered.synchronous().invalidateAll(imdbIds);
+        titleAliases.synchronous().asMap().values().removeIf(imdbIds::contains);
+        for (Movie movie : changed) {
+            titleIndex.upsert(movie);
+            catalogIndex.upsert(movie);
+        }
+    }
+
+    public void removed(ObjectId id) {
+        String imdbId = idAliases.synchronous().getIfPresent(id);
+        if (imdbId != null && !NO_MOVIE.equals(imdbId)) {
+            evict(imdbId);
+        }
+        idAliases.synchronous().invalidate(id);
+        titleIndex.removeById(id).ifPresent(catalogIndex::remove);
+    }
+
+    public record Stamp(String imdbId, long version, long lastModified) {
+
+        public static Stamp of(Movie movie) {
+            long lastModified = movie.getUpdatedAt() != null
+                    ? movie.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                    : -1;
+            return new Stamp(movie.getImdbId(), movie.getVersion() != null ? movie.getVersion() : 0, lastModified);
+        }
+
+        public String etag() {
+            return "\"" + imdbId + "-v" + version + "\"";
+        }
+
+        public String gzipEtag() {
+            return "\"" + imdbId + "-v" + version + "-gz\"";
+        }
+
+        public String reviewsEtag() {
+            return "\"" + imdbId + "-v" + version + "-reviews\"";
+        }
+    }
+
+    public record Rendered(byte[] json, byte[] gzip, Stamp stamp) {
+    }
+
+    private Rendered render(Movie movie) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(movie);
+            ByteArrayOutputStream buf = new ByteArrayOutputStream(json.length / 3 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buf)) {
+                gzip.write(json);
+            }
+            return new Rendered(json, buf.toByteArray(), Stamp.of(movie));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Concurrent misses for the same key share a single Mongo load. The first caller publishes a
+     * future and runs the load on its own thread; the others wait on that future. Unlike a
+     * compute-style loader, no monitor is held while the driver call runs, so a virtual thread
+     * doing the load is never pinned to its carrier. Null or failed loads are not cached: a failure of
+     * any kind, errors included, fails the shared future and drops it so the next caller retries.
+     */
+    private static <K, V> V load(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.join();
+        }
+
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> prior = cache.asMap().putIfAbsent(key, mine);
+        if (prior != null) {
+            return prior.join();
+        }
+
+        try {
+            V value = loader.apply(key);
+            mine.complete(value);
+            return value;
+        } catch (Throwable t) {
+            mine.completeExceptionally(t);
+            cache.asMap().remove(key, mine);
+            throw t;
+        }
+    }
+
+    private String loadImdbId(ObjectId id) {
+        Query query = Query.query(Criteria.where("_id").is(id));
+        query.fields().include("imdbId");
+        Movie m = mongoTemplate.findOne(query, Movie.class);
+        return m != null ? m.getImdbId() : NO_MOVIE;
+    }
+
+    static int pageLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    static Query pageQuery(ObjectId after, Set<String> fields) {
+        Query query = new Query();
+        if (after != null) {
+            query.addCriteria(Criteria.where("_id").gt(after));
+        }
+        query.with(Sort.by(Sort.Direction.ASC, "_id"));
+        if (fields != null) {
+            return MovieFields.project(query, fields);
+        }
+        // Listings never need the reviews; skipping the field avoids resolving every @DocumentReference.
+        query.fields().exclude("reviewIds");
+        return query;
     }
 }
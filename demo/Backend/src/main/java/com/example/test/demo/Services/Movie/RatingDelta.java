@@ -0,0 +1,94 @@
+package com.example.test.demo.Services.Movie;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Net change to one movie's rating aggregate and review count from a set of review inserts and deletes.
+ * Unrated reviews change the review count and bump the version but leave the rating aggregate alone.
+ */
+public class RatingDelta {
+
+    public static final int MIN_STARS = 1;
+
+    public static final int MAX_STARS = 5;
+
+    private long reviews;
+
+    private long count;
+
+    private long sum;
+
+    private final long[] histogram = new long[MAX_STARS + 1];
+
+    public RatingDelta added(Integer rating) {
+        return apply(rating, 1);
+    }
+
+    public RatingDelta removed(Integer rating) {
+        return apply(rating, -1);
+    }
+
+    public static boolean valid(Integer rating) {
+        return rating != null && rating >= MIN_STARS && rating <= MAX_STARS;
+    }
+
+    private RatingDelta apply(Integer rating, int sign) {
+        reviews += sign;
+        if (valid(rating)) {
+            count += sign;
+            sum += (long) sign * rating;
+            histogram[rating] += sign;
+        }
+        return this;
+    }
+
+    /**
+     * Update pipeline applying this delta, bumping the version and recomputing the stored average from the
+     * new totals. It runs as one single-document update, so concurrent writers never lose a count.
+     */
+    List<Document> pipeline() {
+        Document set = new Document()
+                .append("version", plus("$version", 1))
+                .append("updatedAt", "$$NOW");
+        if (reviews != 0) {
+            set.append("reviewCount", plus("$reviewCount", reviews));
+        }
+        if (changed()) {
+            set.append("ratings.count", plus("$ratings.count", count))
+                    .append("ratings.sum", plus("$ratings.sum", sum));
+            for (int stars = MIN_STARS; stars <= MAX_STARS; stars++) {
+                if (histogram[stars] != 0) {
+                    set.append("ratings.histogram." + stars, plus("$ratings.histogram." + stars, histogram[stars]));
+                }
+            }
+        }
+
+        List<Document> pipeline = new ArrayList<>(2);
+        pipeline.add(new Document("$set", set));
+        if (changed()) {
+            pipeline.add(new Document("$set", new Document("ratings.average", new Document("$cond", Arrays.asList(
+                    new Document("$gt", List.of("$ratings.count", 0)),
+                    new Document("$divide", List.of("$ratings.sum", "$ratings.count")),
+                    null)))));
+        }
+        return pipeline;
+    }
+
+    // Nets to zero only when every star count does, e.g. a 5-star added and a 3-star removed still changes the sum.
+    private boolean changed() {
+        for (long h : histogram) {
+            if (h != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Document plus(String field, long delta) {
+        return new Document("$add", List.of(new Document("$ifNull", List.of(field, 0L)), delta));
+    }
+}
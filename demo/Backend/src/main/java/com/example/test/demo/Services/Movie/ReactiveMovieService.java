@@ -0,0 +1,101 @@
+package com.example.test.demo.Services.Movie;
+
+import com.example.test.demo.Schema.Movie;
+import com.mongodb.client.model.Filters;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Non-blocking counterpart of {@link MovieService}, used when the app runs on WebFlux.
+ * Shares the keyset page query so both stacks return identical pages.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveMovieService {
+
+    @Autowired
+    private ReactiveRepo repo;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    public Flux<Movie> findPage(ObjectId after, int limit, Set<String> fields) {
+        return mongoTemplate.find(MovieService.pageQuery(after, fields).limit(MovieService.pageLimit(limit)), Movie.class);
+    }
+
+    // Cursor batches are requested as the HTTP response drains, so a slow client holds back Mongo
+    // instead of buffering the catalog on the heap.
+    public Flux<Movie> stream(ObjectId after, Set<String> fields) {
+        return mongoTemplate.find(MovieService.pageQuery(after, fields).cursorBatchSize(MovieService.STREAM_BATCH_SIZE), Movie.class);
+    }
+
+    public Mono<Movie> findById(ObjectId id, Set<String> fields) {
+        return fields == null ? repo.findById(id) : findOne(Criteria.where("_id").is(id), fields);
+    }
+
+    public Mono<Movie> findByName(String name, Set<String> fields) {
+        return fields == null ? repo.findByTitle(name) : findOne(Criteria.where("title").is(name), fields);
+    }
+
+    // One $in query for a page of imdbIds; see MovieService.findCards.
+    public Mono<Map<String, Movie>> findCards(Collection<String> imdbIds) {
+        if (imdbIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return mongoTemplate.find(MovieService.cardsQuery(new HashSet<>(imdbIds)), Movie.class)
+                .collectMap(Movie::getImdbId);
+    }
+
+    // Validators come from the stamp fields, so they are always read along with the selection.
+    public Mono<Movie> findByImdb(String imdbId, Set<String> fields) {
+        if (fields == null) {
+            return repo.findByImdbId(imdbId);
+        }
+        Set<String> withStamp = new LinkedHashSet<>(fields);
+        withStamp.addAll(List.of("imdbId", "version", "updatedAt"));
+        return findOne(Criteria.where("imdbId").is(imdbId), withStamp);
+    }
+
+    private Mono<Movie> findOne(Criteria criteria, Set<String> fields) {
+        return mongoTemplate.findOne(MovieFields.project(Query.query(criteria), fields), Movie.class);
+    }
+
+    public Mono<Boolean> exists(String imdbId) {
+        return repo.existsByImdbId(imdbId);
+    }
+
+    public Mono<MovieService.Stamp> stamp(String imdbId) {
+        Query query = Query.query(Criteria.where("imdbId").is(imdbId));
+        query.fields().include("imdbId", "version", "updatedAt");
+        return mongoTemplate.findOne(query, Movie.class).map(MovieService.Stamp::of);
+    }
+
+    // Same single-update pipeline as MovieService.reviewed; the caller evicts the shared cache afterwards.
+    public Mono<Void> reviewed(String imdbId, RatingDelta delta) {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Movie.class))
+                .flatMap(c -> Mono.from(c.updateOne(Filters.eq("imdbId", imdbId), delta.pipeline())))
+                .then();
+    }
+
+    public Flux<Movie> topRated(int minCount, int limit, Set<String> fields) {
+        Query query = Query.query(Criteria.where("ratings.count").gte(Math.max(1, minCount)))
+                .with(Sort.by(Sort.Direction.DESC, "ratings.average", "ratings.count"))
+                .limit(Math.max(1, Math.min(limit, MovieService.MAX_SEARCH_RESULTS)));
+        return mongoTemplate.find(MovieFields.project(query, fields), Movie.class);
+    }
+}
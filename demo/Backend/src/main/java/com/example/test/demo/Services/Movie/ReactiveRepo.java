@@ -0,0 +1,16 @@
+package com.example.test.demo.Services.Movie;
+
+import com.example.test.demo.Schema.Movie;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveRepo extends ReactiveMongoRepository<Movie, ObjectId> {
+    Mono<Movie> findByTitle(String title);
+
+    Mono<Movie> findByImdbId(String imdbId);
+
+    Mono<Boolean> existsByImdbId(String imdbId);
+}
@@ -0,0 +1,200 @@
+package com.example.test.demo.Services.Movie;
+
+import com.example.test.demo.Schema.Movie;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory typeahead index over movie titles. Titles are folded to lower case without diacritics and
+ * split into words; a sorted word map gives every title containing a word that starts with a prefix
+ * as one range scan. Built at startup from an imdbId/title/poster projection of the catalog and kept
+ * current through {@link #upsert} and {@link #remove}.
+ */
+@Component
+public class TitleIndex implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TitleIndex.class);
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<String, Set<String>> words = new ConcurrentSkipListMap<>();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+
+        Query query = new Query().cursorBatchSize(1000);
+        query.fields().include("imdbId", "title", "poster");
+        try (Stream<Movie> movies = mongoTemplate.stream(query, Movie.class)) {
+            movies.forEach(this::upsert);
+        }
+
+        log.info("Title index built: {} titles, {} words in {} ms", entries.size(), words.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public synchronized void upsert(Movie movie) {
+        if (movie.getImdbId() == null || movie.getTitle() == null) {
+            return;
+        }
+        remove(movie.getImdbId());
+
+        String normalized = normalize(movie.getTitle());
+        Entry entry = new Entry(new TitleMatch(movie.getId(), movie.getImdbId(), movie.getTitle(), movie.getPoster()),
+                normalized, tokens(normalized));
+        entries.put(movie.getImdbId(), entry);
+        for (String word : entry.words()) {
+            words.computeIfAbsent(word, w -> ConcurrentHashMap.newKeySet()).add(movie.getImdbId());
+        }
+    }
+
+    public synchronized void remove(String imdbId) {
+        Entry old = entries.remove(imdbId);
+        if (old == null) {
+            return;
+        }
+        for (String word : old.words()) {
+            words.computeIfPresent(word, (w, ids) -> {
+                ids.remove(imdbId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    public Optional<String> removeById(ObjectId id) {
+        Optional<String> imdbId = entries.values().stream()
+                .filter(e -> id.equals(e.match().getId()))
+                .map(e -> e.match().getImdbId())
+                .findFirst();
+        imdbId.ifPresent(this::remove);
+        return imdbId;
+    }
+
+    public TitleMatch get(String imdbId) {
+        Entry e = entries.get(imdbId);
+        return e != null ? e.match() : null;
+    }
+
+    /**
+     * Top-k titles whose words start with every query word. Titles starting with the whole query rank
+     * first, then titles whose first word matches, then any match; ties go to the shorter title.
+     */
+    public List<TitleMatch> search(String q, int k) {
+        String query = normalize(q == null ? "" : q);
+        String[] terms = tokens(query);
+        if (terms.length == 0 || k <= 0) {
+            return List.of();
+        }
+
+        // The longest term has the narrowest prefix range, so it drives candidate generation.
+        String driver = Arrays.stream(terms).max(Comparator.comparingInt(String::length)).get();
+
+        // Min-heap on rank: the head is the weakest of the current top k.
+        Comparator<Scored> order = Comparator.comparingInt(Scored::score)
+                .thenComparingInt(s -> -s.entry().normalized().length())
+                .thenComparing(s -> s.entry().normalized(), Comparator.reverseOrder());
+        PriorityQueue<Scored> top = new PriorityQueue<>(k + 1, order);
+        Set<String> seen = new HashSet<>();
+
+        for (Set<String> ids : prefixRange(driver).values()) {
+            for (String imdbId : ids) {
+                Entry e = entries.get(imdbId);
+                if (e == null || !seen.add(imdbId) || !matchesAll(e, terms)) {
+                    continue;
+                }
+                top.add(new Scored(e, score(e, query, terms[0])));
+                if (top.size() > k) {
+                    top.poll();
+                }
+            }
+        }
+
+        List<TitleMatch> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            result.add(top.poll().entry().match());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    static String normalize(String s) {
+        String stripped = MARKS.matcher(Normalizer.normalize(s, Normalizer.Form.NFD)).replaceAll("");
+        return stripped.toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static String[] tokens(String normalized) {
+        return Arrays.stream(SEPARATORS.split(normalized)).filter(t -> !t.isEmpty()).distinct().toArray(String[]::new);
+    }
+
+    private NavigableMap<String, Set<String>> prefixRange(String prefix) {
+        return words.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static boolean matchesAll(Entry e, String[] terms) {
+        for (String term : terms) {
+            boolean found = false;
+            for (String word : e.words()) {
+                if (word.startsWith(term)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int score(Entry e, String query, String firstTerm) {
+        if (e.normalized().startsWith(query)) {
+            return 3;
+        }
+        if (e.words().length > 0 && e.words()[0].startsWith(firstTerm)) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private record Entry(TitleMatch match, String normalized, String[] words) {
+    }
+
+    private record Scored(Entry entry, int score) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.test.demo.Services.Movie;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.bson.types.ObjectId;
+
+@Data
+@AllArgsConstructor
+public class TitleMatch {
+
+    private ObjectId id;
+
+    private String imdbId;
+
+    private String title;
+
+    private String poster;
+}
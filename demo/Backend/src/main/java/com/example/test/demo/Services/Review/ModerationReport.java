@@ -0,0 +1,24 @@
+package com.example.test.demo.Services.Review;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ModerationReport {
+
+    // Reviews the filter matched when they were read
+    private long matched;
+
+    private long deleted;
+
+    // Distinct movies whose rating aggregate and caches were updated
+    private long movies;
+
+    private long batches;
+
+    // Matched reviews that were gone or held by another moderation run when their batch was claimed
+    private long raced;
+
+    private long elapsedMs;
+}
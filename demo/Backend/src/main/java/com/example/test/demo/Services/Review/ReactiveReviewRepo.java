@@ -0,0 +1,10 @@
+package com.example.test.demo.Services.Review;
+
+import com.example.test.demo.Schema.Review;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveReviewRepo extends ReactiveMongoRepository<Review, ObjectId> {
+}
@@ -0,0 +1,79 @@
+package com.example.test.demo.Services.Review;
+
+import com.example.test.demo.Schema.Review;
+import com.example.test.demo.Services.Movie.MovieService;
+import com.example.test.demo.Services.Movie.RatingDelta;
+import com.example.test.demo.Services.Movie.ReactiveMovieService;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link ReviewService}, used when the app runs on WebFlux. New reviews have the
+ * same two-write drift risk as {@link ReviewService#newReview}.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReviewService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveReviewService.class);
+
+    @Autowired
+    private ReactiveReviewRepo repo;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    private ReactiveMovieService reactiveMovieService;
+
+    // Only used for in-memory cache eviction, which never blocks.
+    @Autowired
+    private MovieService movieService;
+
+    public Mono<Review> newReview(String body, Integer rating, String imdbId, ObjectId userId, String name) {
+        Review review;
+        try {
+            review = ReviewService.review(body, rating, imdbId, userId, name);
+        } catch (RuntimeException e) {
+            return Mono.error(e);
+        }
+
+        return reactiveMovieService.exists(imdbId)
+                .flatMap(exists -> exists
+                        ? repo.insert(review)
+                        : Mono.<Review>error(new RuntimeException("Movie with given imdbId not found.")))
+                .flatMap(r -> reactiveMovieService.reviewed(imdbId, new RatingDelta().added(rating))
+                        .doOnError(e -> log.error("Review {} was saved but the rating update of movie {} failed; "
+                                + "its aggregate is now one review short", r.getId(), imdbId, e))
+                        .then(Mono.fromRunnable(() -> movieService.evict(imdbId)))
+                        .thenReturn(r));
+    }
+
+    public Mono<ReviewPage> findRev(String imdbId, int size, String cursor) {
+        int limit = ReviewService.pageLimit(size);
+        return Mono.defer(() -> mongoTemplate.find(ReviewService.pageQuery(imdbId, limit, cursor), Review.class).collectList())
+                .map(rev -> ReviewService.toPage(rev, limit));
+    }
+
+    public Mono<UserReviewPage> findByUser(ObjectId userId, int size, String cursor) {
+        int limit = ReviewService.pageLimit(size);
+        return Mono.defer(() -> mongoTemplate.find(ReviewService.userPageQuery(userId, limit, cursor), Review.class).collectList())
+                .map(rev -> ReviewService.toPage(rev, limit))
+                .flatMap(page -> reactiveMovieService.findCards(ReviewService.imdbIds(page))
+                        .map(movies -> UserReviewPage.of(page, movies)));
+    }
+
+    public Mono<String> delete(ObjectId id) {
+        return mongoTemplate.findAndRemove(ReviewService.deleteQuery(id), Review.class)
+                .switchIfEmpty(Mono.error(new RuntimeException("Review with given id not found.")))
+                .flatMap(r -> reactiveMovieService.reviewed(r.getImdbId(), new RatingDelta().removed(r.getRating()))
+                        .then(Mono.fromRunnable(() -> movieService.evict(r.getImdbId())))
+                        .thenReturn("Review Deleted Successfully"));
+    }
+}
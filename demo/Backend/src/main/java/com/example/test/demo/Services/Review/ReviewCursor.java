@@ -0,0 +1,41 @@
+package com.example.test.demo.Services.Review;
+
+import com.example.test.demo.Schema.Review;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for review pages: the (createdAt, _id) of the last review served.
+ */
+@Getter
+@AllArgsConstructor
+public class ReviewCursor {
+
+    private final LocalDateTime createdAt;
+
+    private final ObjectId id;
+
+    public static ReviewCursor after(Review review) {
+        return new ReviewCursor(review.getCreatedAt(), review.getId());
+    }
+
+    public static ReviewCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new ReviewCursor(LocalDateTime.parse(raw.substring(0, sep)), new ObjectId(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id.toHexString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.test.demo.Services.Review;
+
+import com.example.test.demo.Schema.Movie;
+import com.example.test.demo.Schema.Review;
+import com.example.test.demo.Services.Movie.MovieService;
+import com.example.test.demo.Services.Movie.RatingDelta;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group-commit ingestion for new reviews. Submissions wait in a bounded queue; a single writer
+ * drains up to cinemate.reviews.ingest.batch-size of them, or whatever arrived within
+ * cinemate.reviews.ingest.window, checks all their movies with one query, inserts the batch with one
+ * unordered bulkWrite and then applies the movie-side work once per distinct movie.
+ * Each submitter gets a future for its saved review. A full queue rejects right away.
+ * Only active with cinemate.reviews.ingest.batched=true; otherwise no queue or writer thread is created.
+ */
+@Component
+public class ReviewIngestor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewIngestor.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Read at run time rather than as a bean condition, which an AOT build would fix at build time.
+    @Value("${cinemate.reviews.ingest.batched:false}")
+    private boolean enabled;
+
+    @Value("${cinemate.reviews.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${cinemate.reviews.ingest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${cinemate.reviews.ingest.window:5ms}")
+    private Duration window;
+
+    private BlockingQueue<Pending> queue;
+
+    private DistributionSummary batchSizes;
+
+    private Thread writer;
+
+    private volatile boolean running = true;
+
+    // How long stop() lets the writer commit what was already accepted; whatever is still queued after that is failed.
+    Duration stopTimeout = Duration.ofSeconds(10);
+
+    private record Pending(Review review, CompletableFuture<Review> future) {
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        batchSizes = DistributionSummary.builder("cinemate.reviews.ingest.batch").register(meterRegistry);
+        meterRegistry.gauge("cinemate.reviews.ingest.queue", queue, BlockingQueue::size);
+
+        writer = new Thread(this::drain, "review-ingestor");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.interrupt();
+        writer.join(stopTimeout.toMillis());
+
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        if (!left.isEmpty()) {
+            log.warn("Review ingestion stopped with {} reviews still queued; they were not saved", left.size());
+            RejectedExecutionException stopped = new RejectedExecutionException("Review ingestion stopped, try again shortly");
+            left.forEach(p -> p.future().completeExceptionally(stopped));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CompletableFuture<Review> submit(Review review) {
+        CompletableFuture<Review> future = new CompletableFuture<>();
+        Pending pending = new Pending(review, future);
+        if (!running || !queue.offer(pending)) {
+            throw new RejectedExecutionException("Too many reviews are being submitted, try again shortly");
+        }
+        // Raced with stop(): take it back unless the writer or stop() already has it.
+        if (!running && queue.remove(pending)) {
+            throw new RejectedExecutionException("Review ingestion stopped, try again shortly");
+        }
+        return future;
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + window.toNanos();
+                while (batch.size() < batchSize) {
+                    Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Shutdown: stop waiting for more, but still commit what was already accepted.
+                queue.drainTo(batch);
+            }
+
+            if (!batch.isEmpty()) {
+                // Anything, Errors included, fails the batch rather than the only writer thread; futures
+                // the batch already completed are left as they are.
+                try {
+                    flush(batch);
+                } catch (Throwable t) {
+                    log.error("Review batch of {} failed", batch.size(), t);
+                    batch.forEach(p -> p.future().completeExceptionally(t));
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        batchSizes.record(batch.size());
+
+        Set<String> imdbIds = new HashSet<>();
+        batch.forEach(p -> imdbIds.add(p.review().getImdbId()));
+
+        Query known = Query.query(Criteria.where("imdbId").in(imdbIds));
+        known.fields().include("imdbId");
+        Set<String> existing = new HashSet<>();
+        mongoTemplate.find(known, Movie.class).forEach(m -> existing.add(m.getImdbId()));
+
+        List<Pending> accepted = new ArrayList<>(batch.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (Pending p : batch) {
+            if (!existing.contains(p.review().getImdbId())) {
+                p.future().completeExceptionally(new RuntimeException("Movie with given imdbId not found."));
+                continue;
+            }
+            Review r = p.review();
+            r.setId(new ObjectId());
+            r.setCreatedAt(now);
+            r.setUpdatedAt(now);
+            accepted.add(p);
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        Set<Integer> failed = new HashSet<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Review.class)
+                    .insert(accepted.stream().map(Pending::review).toList())
+                    .execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(error.getIndex());
+                accepted.get(error.getIndex()).future()
+                        .completeExceptionally(new RuntimeException("Review could not be saved: " + error.getMessage()));
+            }
+        }
+
+        // The reviews are saved at this point, so their submitters hear so before the movie-side work;
+        // failing them now would invite a retry that saves each review twice.
+        Map<String, RatingDelta> deltas = new LinkedHashMap<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            if (!failed.contains(i)) {
+                Review r = accepted.get(i).review();
+                accepted.get(i).future().complete(r);
+                deltas.computeIfAbsent(r.getImdbId(), k -> new RatingDelta()).added(r.getRating());
+            }
+        }
+
+        // Movie-side work is merged: one rating/version update per distinct movie, all in one bulkWrite,
+        // however many reviews each movie received.
+        try {
+            movieService.reviewed(deltas);
+        } catch (RuntimeException e) {
+            // Same two-write gap as ReviewService.newReview, for a whole batch.
+            log.error("{} reviews were saved but the rating update of movies {} failed; their aggregates are now short",
+                    accepted.size() - failed.size(), deltas.keySet(), e);
+        }
+    }
+}
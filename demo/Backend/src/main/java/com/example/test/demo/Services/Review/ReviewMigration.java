@@ -0,0 +1,84 @@
+package com.example.test.demo.Services.Review;
+
+import com.example.test.demo.Schema.Movie;
+import com.example.test.demo.Schema.Review;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.MergeOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.Variable;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * One-off migration from the embedded Movie.reviewIds arrays to the Review collection.
+ * Stamps every referenced review with its movie's imdbId, then drops the array, and finally recounts
+ * Movie.reviewCount from the Review collection (reviews written while it runs may be counted once more).
+ * Enable with cinemate.migration.reviews=true; it is idempotent and safe to re-run.
+ */
+@Component
+public class ReviewMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewMigration.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Read at run time rather than as a bean condition, which an AOT build would fix at build time.
+    @Value("${cinemate.migration.reviews:false}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        MongoCollection<Document> movies = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Movie.class));
+        MongoCollection<Document> reviews = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Review.class));
+
+        long migratedMovies = 0;
+        long migratedReviews = 0;
+
+        for (Document movie : movies.find(Filters.exists("reviewIds"))
+                .projection(Projections.include("imdbId", "reviewIds"))) {
+            List<Object> ids = movie.getList("reviewIds", Object.class);
+
+            if (ids != null && !ids.isEmpty()) {
+                migratedReviews += reviews.updateMany(Filters.in("_id", ids),
+                        Updates.set("imdbId", movie.getString("imdbId"))).getModifiedCount();
+            }
+
+            movies.updateOne(Filters.eq("_id", movie.get("_id")), Updates.unset("reviewIds"));
+            migratedMovies++;
+        }
+
+        backfillReviewCounts(movies, reviews.getNamespace().getCollectionName());
+
+        log.info("Review migration done: {} movies, {} reviews re-linked", migratedMovies, migratedReviews);
+    }
+
+    // One server-side pass: count each movie's reviews through the imdbId index and merge the count back.
+    private void backfillReviewCounts(MongoCollection<Document> movies, String reviewCollection) {
+        movies.aggregate(List.of(
+                Aggregates.lookup(reviewCollection, List.of(new Variable<>("imdbId", "$imdbId")), List.of(
+                        Aggregates.match(Filters.expr(new Document("$eq", List.of("$imdbId", "$$imdbId")))),
+                        Aggregates.count("n")), "counted"),
+                Aggregates.project(Projections.computed("reviewCount",
+                        new Document("$ifNull", List.of(new Document("$first", "$counted.n"), 0L)))),
+                Aggregates.merge(movies.getNamespace().getCollectionName(), new MergeOptions()
+                        .whenMatched(MergeOptions.WhenMatched.MERGE)
+                        .whenNotMatched(MergeOptions.WhenNotMatched.DISCARD))))
+                .toCollection();
+    }
+}
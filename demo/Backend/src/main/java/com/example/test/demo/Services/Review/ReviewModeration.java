@@ -0,0 +1,184 @@
+package com.example.test.demo.Services.Review;
+
+import com.example.test.demo.Schema.Review;
+import com.example.test.demo.Services.Movie.MovieService;
+import com.example.test.demo.Services.Movie.RatingDelta;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Bulk review removal for moderation: every review by a user, on a movie, or in an id list.
+ *
+ * Matching review ids are streamed from a cursor and handled batch by batch. Each batch is first
+ * claimed: one updateMany stamps the reviews nobody else is deleting with this run's id. Single deletes
+ * skip claimed reviews, so the claimed set is exactly what this run removes. The claimed reviews'
+ * imdbId and rating are read back and the claimed reviews are removed with one deleteMany. Their rating
+ * changes are summed per movie across the whole run, and at the end each movie touched gets one
+ * rating/version update via one bulkWrite and leaves the caches once, however many batches held its
+ * reviews. A review deleted elsewhere before the claim is never counted twice. A run that fails part-way
+ * still applies the changes for everything it deleted before rethrowing; only a process that dies
+ * mid-run leaves those movies' aggregates high until they are recounted. Leftover claims expire after CLAIM_TTL.
+ */
+@Service
+public class ReviewModeration {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewModeration.class);
+
+    private static final long PROGRESS_INTERVAL_NANOS = 5_000_000_000L;
+
+    static final String CLAIM = "moderationClaim";
+
+    static final Duration CLAIM_TTL = Duration.ofMinutes(10);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Value("${cinemate.moderation.batch-size:1000}")
+    private int batchSize;
+
+    public ModerationReport deleteByUser(ObjectId userId) {
+        return delete("user " + userId, Criteria.where("userId").is(userId));
+    }
+
+    public ModerationReport deleteByMovie(String imdbId) {
+        return delete("movie " + imdbId, Criteria.where("imdbId").is(imdbId));
+    }
+
+    public ModerationReport deleteByIds(Collection<ObjectId> ids) {
+        return delete(ids.size() + " ids", Criteria.where("_id").in(ids));
+    }
+
+    // True for reviews not held by a live moderation claim; deletes must only touch these.
+    static Criteria unclaimed(Date now) {
+        return new Criteria().orOperator(
+                Criteria.where(CLAIM).exists(false),
+                Criteria.where(CLAIM + ".at").lt(Date.from(now.toInstant().minus(CLAIM_TTL))));
+    }
+
+    private ModerationReport delete(String target, Criteria filter) {
+        Query query = Query.query(filter).cursorBatchSize(batchSize);
+        query.fields().include("_id");
+
+        Run run = new Run(target);
+        List<Review> batch = new ArrayList<>(batchSize);
+        try {
+            try (Stream<Review> reviews = mongoTemplate.stream(query, Review.class)) {
+                reviews.forEach(review -> {
+                    batch.add(review);
+                    if (batch.size() == batchSize) {
+                        run.apply(batch);
+                        batch.clear();
+                    }
+                });
+            }
+            if (!batch.isEmpty()) {
+                run.apply(batch);
+            }
+        } finally {
+            run.updateMovies();
+        }
+
+        ModerationReport report = run.report();
+        log.info("Moderation of {} done: {} matched, {} deleted, {} movies, {} raced in {} ms",
+                target, report.getMatched(), report.getDeleted(), report.getMovies(), report.getRaced(), report.getElapsedMs());
+        return report;
+    }
+
+    private final class Run {
+
+        final String target;
+
+        final ObjectId run = new ObjectId();
+
+        final long start = System.nanoTime();
+
+        long lastProgress = start;
+
+        long matched;
+
+        long deleted;
+
+        long batches;
+
+        // imdbId -> rating change of everything this run removed, applied once by updateMovies()
+        final Map<String, RatingDelta> deltas = new LinkedHashMap<>();
+
+        Run(String target) {
+            this.target = target;
+        }
+
+        void apply(List<Review> batch) {
+            List<ObjectId> ids = new ArrayList<>(batch.size());
+            batch.forEach(r -> ids.add(r.getId()));
+
+            mongoTemplate.updateMulti(
+                    Query.query(new Criteria().andOperator(Criteria.where("_id").in(ids), unclaimed(new Date()))),
+                    Update.update(CLAIM, new Document("run", run).append("at", new Date())),
+                    Review.class);
+
+            Query read = claimedBy(ids);
+            read.fields().include("imdbId", "rating");
+            List<Review> claimed = mongoTemplate.find(read, Review.class);
+
+            long removed = mongoTemplate.remove(claimedBy(ids), Review.class).getDeletedCount();
+            if (removed != claimed.size()) {
+                // Only possible if this batch outlived CLAIM_TTL and another delete took over the claim.
+                log.error("Moderation of {}: claimed {} reviews but removed {}", target, claimed.size(), removed);
+            }
+
+            for (Review review : claimed) {
+                deltas.computeIfAbsent(review.getImdbId(), k -> new RatingDelta()).removed(review.getRating());
+            }
+
+            matched += batch.size();
+            deleted += removed;
+            batches++;
+            progress();
+        }
+
+        void updateMovies() {
+            if (!deltas.isEmpty()) {
+                movieService.reviewed(deltas);
+            }
+        }
+
+        Query claimedBy(List<ObjectId> ids) {
+            return Query.query(Criteria.where("_id").in(ids).and(CLAIM + ".run").is(run));
+        }
+
+        void progress() {
+            long now = System.nanoTime();
+            if (now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                lastProgress = now;
+                log.info("Moderation of {}: {} deleted across {} movies so far", target, deleted, deltas.size());
+            }
+        }
+
+        ModerationReport report() {
+            return new ModerationReport(matched, deleted, deltas.size(), batches, matched - deleted,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.test.demo.Services.Review;
+
+import com.example.test.demo.Schema.Review;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ReviewPage {
+
+    private List<Review> reviews;
+
+    // Continuation token for the next page, null on the last one.
+    private String next;
+}
@@ -1,23 +1,34 @@
 package com.example.test.demo.Services.Review;
 
-import com.example.test.demo.Services.Movie.MovieService;
-import com.example.test.demo.Schema.Movie;
 import com.example.test.demo.Schema.Review;
-import com.mongodb.client.result.UpdateResult;
+import com.example.test.demo.Services.Movie.MovieService;
+import com.example.test.demo.Services.Movie.RatingDelta;
 import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Service
 public class ReviewService {
 
+    private static final Logger log = LoggerFactory.getLogger(ReviewService.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    public static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private ReviewRepo repo;
 
@@ -27,58 +38,132 @@ public class ReviewService {
     @Autowired
     private MovieService movieService;
 
-    public Review newReview(String body, String imdbId, ObjectId userId, String name) {
-
-        if(userId == null || name.isEmpty()){
-            throw new RuntimeException("Login To Continue");
+    // Queues reviews only when cinemate.reviews.ingest.batched=true
+    @Autowired
+    private ReviewIngestor ingestor;
+
+    /**
+     * Entry point for new reviews. With batched ingestion the review is queued and the future completes
+     * when its batch is committed; a full queue throws RejectedExecutionException. Otherwise the review
+     * is written right away.
+     */
+    public CompletableFuture<Review> submitReview(String body, Integer rating, String imdbId, ObjectId userId, String name) {
+        if (!ingestor.isEnabled()) {
+            return CompletableFuture.completedFuture(newReview(body, rating, imdbId, userId, name));
         }
 
-        Review review = repo.insert(new Review(body, userId, name, imdbId));
+        return ingestor.submit(review(body, rating, imdbId, userId, name));
+    }
 
-        UpdateResult result = mongoTemplate.update(Movie.class)
-                .matching(Criteria.where("imdbId").is(imdbId))
-                .apply(new Update().push("reviewIds").value(review))
-                .first();
+    /**
+     * Inserts the review, then applies its rating change to the movie. These are two separate writes with no
+     * transaction around them, so if the movie update fails after the insert the review exists but the movie's
+     * ratings and reviewCount miss it until they are recounted. The failure is logged with both ids and rethrown.
+     */
+    public Review newReview(String body, Integer rating, String imdbId, ObjectId userId, String name) {
+        Review review = review(body, rating, imdbId, userId, name);
 
-        if (result.getMatchedCount() == 0) {
+        if (movieService.findByImdb(imdbId).isEmpty()) {
             throw new RuntimeException("Movie with given imdbId not found.");
         }
+
+        review = repo.insert(review);
+        try {
+            movieService.reviewed(imdbId, new RatingDelta().added(rating));
+        } catch (RuntimeException e) {
+            log.error("Review {} was saved but the rating update of movie {} failed; its aggregate is now one review short",
+                    review.getId(), imdbId, e);
+            throw e;
+        }
         return review;
     }
 
-    public Optional<List<Review>> findRev(String imdbId){
+    static Review review(String body, Integer rating, String imdbId, ObjectId userId, String name) {
+        if(userId == null || name == null || name.isEmpty()){
+            throw new RuntimeException("Login To Continue");
+        }
+        if (rating != null && !RatingDelta.valid(rating)) {
+            throw new RuntimeException("Rating must be between " + RatingDelta.MIN_STARS + " and " + RatingDelta.MAX_STARS);
+        }
 
-        Optional<Movie> m = movieService.findByImdb(imdbId);
+        Review review = new Review(body, userId, name, imdbId);
+        review.setRating(rating);
+        return review;
+    }
 
-        if(m.isEmpty()){
-            throw new RuntimeException("Movie with given imdbId not found.");
-        }
+    // Served from the Review collection via the (imdbId, createdAt, _id) index, newest first.
+    public ReviewPage findRev(String imdbId, int size, String cursor){
+        int limit = pageLimit(size);
+        return toPage(mongoTemplate.find(pageQuery(imdbId, limit, cursor), Review.class), limit);
+    }
 
-        List<Review> rev = m.get().getReviewIds();
+    static int pageLimit(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
 
-        return Optional.of(rev);
+    static Query pageQuery(String imdbId, int limit, String cursor) {
+        return keysetQuery(Criteria.where("imdbId").is(imdbId), limit, cursor);
     }
 
-    public ResponseEntity<?> delete(ObjectId id){
-        Optional<Review> r = repo.findById(id);
+    /**
+     * A user's reviews, newest first, via the (userId, createdAt, _id) index. The movie title and poster
+     * for the whole page come from one batched lookup, so a page costs at most two queries.
+     */
+    public UserReviewPage findByUser(ObjectId userId, int size, String cursor) {
+        int limit = pageLimit(size);
+        ReviewPage page = toPage(mongoTemplate.find(userPageQuery(userId, limit, cursor), Review.class), limit);
+        return UserReviewPage.of(page, movieService.findCards(imdbIds(page)));
+    }
 
-        if(r.isEmpty()){
-            throw new RuntimeException("Review with given id not found.");
+    // The author's id and name are implied by the request, so they are not read back.
+    static Query userPageQuery(ObjectId userId, int limit, String cursor) {
+        Query query = keysetQuery(Criteria.where("userId").is(userId), limit, cursor);
+        query.fields().include("imdbId", "body", "rating", "createdAt", "updatedAt");
+        return query;
+    }
+
+    static Set<String> imdbIds(ReviewPage page) {
+        return page.getReviews().stream().map(Review::getImdbId).collect(Collectors.toSet());
+    }
+
+    // Fetches one extra review to learn whether another page exists.
+    private static Query keysetQuery(Criteria criteria, int limit, String cursor) {
+        if (cursor != null && !cursor.isEmpty()) {
+            ReviewCursor c = ReviewCursor.decode(cursor);
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").lt(c.getCreatedAt()),
+                    Criteria.where("createdAt").is(c.getCreatedAt()).and("_id").lt(c.getId()));
         }
 
-        String imdbId = r.get().getImdbId();
+        return Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"))
+                .limit(limit + 1);
+    }
 
-        repo.deleteById(id);
+    static ReviewPage toPage(List<Review> rev, int limit) {
+        String next = null;
+        if (rev.size() > limit) {
+            rev = rev.subList(0, limit);
+            next = ReviewCursor.after(rev.get(limit - 1)).encode();
+        }
+        return new ReviewPage(rev, next);
+    }
 
-        UpdateResult result = mongoTemplate.update(Movie.class)
-                .matching(Criteria.where("imdbId").is(imdbId))
-                .apply(new Update().pull("reviewIds", id))
-                .first();
+    // One findAndRemove, so only the request that actually deleted the review applies its rating change.
+    // Reviews claimed by a bulk moderation run are left to that run.
+    public ResponseEntity<?> delete(ObjectId id){
+        Review removed = mongoTemplate.findAndRemove(deleteQuery(id), Review.class);
 
-        if (result.getModifiedCount() == 0) {
-            return ResponseEntity.ok().body("Review deleted, but not removed from Movie's review list.");
+        if(removed == null){
+            throw new RuntimeException("Review with given id not found.");
         }
 
+        movieService.reviewed(removed.getImdbId(), new RatingDelta().removed(removed.getRating()));
+
         return ResponseEntity.ok().body("Review Deleted Successfully");
     }
+
+    static Query deleteQuery(ObjectId id) {
+        return Query.query(new Criteria().andOperator(Criteria.where("_id").is(id), ReviewModeration.unclaimed(new Date())));
+    }
 }
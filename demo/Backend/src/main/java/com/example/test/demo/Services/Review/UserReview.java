@@ -0,0 +1,41 @@
+package com.example.test.demo.Services.Review;
+
+import com.example.test.demo.Schema.Movie;
+import com.example.test.demo.Schema.Review;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.bson.types.ObjectId;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a user's review history: the review plus enough of its movie to render a card.
+ */
+@Data
+@AllArgsConstructor
+public class UserReview {
+
+    private ObjectId id;
+
+    private String imdbId;
+
+    private String body;
+
+    private Integer rating;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    // From the movie; null if it has since been removed
+    private String title;
+
+    private String poster;
+
+    public static UserReview of(Review review, Movie movie) {
+        return new UserReview(review.getId(), review.getImdbId(), review.getBody(), review.getRating(),
+                review.getCreatedAt(), review.getUpdatedAt(),
+                movie != null ? movie.getTitle() : null,
+                movie != null ? movie.getPoster() : null);
+    }
+}
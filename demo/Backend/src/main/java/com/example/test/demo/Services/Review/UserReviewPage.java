@@ -0,0 +1,26 @@
+package com.example.test.demo.Services.Review;
+
+import com.example.test.demo.Schema.Movie;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class UserReviewPage {
+
+    private List<UserReview> reviews;
+
+    // Continuation token for the next page, null on the last one.
+    private String next;
+
+    // movies: imdbId -> card fields, as returned by MovieService.findCards
+    static UserReviewPage of(ReviewPage page, Map<String, Movie> movies) {
+        List<UserReview> reviews = page.getReviews().stream()
+                .map(r -> UserReview.of(r, movies.get(r.getImdbId())))
+                .toList();
+        return new UserReviewPage(reviews, page.getNext());
+    }
+}
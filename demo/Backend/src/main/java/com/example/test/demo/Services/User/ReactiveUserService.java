@@ -0,0 +1,45 @@
+package com.example.test.demo.Services.User;
+
+import com.example.test.demo.Schema.User;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link UserService}, used when the app runs on WebFlux. Password hashing is a
+ * single SHA-256 and stays on the calling thread, as it does in {@link UserService#hash}.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserService {
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    public Mono<User> newUser(User u) {
+        return mongoTemplate.insert(u)
+                .onErrorMap(DuplicateKeyException.class, e -> new RuntimeException("Email Or Mobile already exists"));
+    }
+
+    public Mono<User> findById(ObjectId id) {
+        return mongoTemplate.findById(id, User.class);
+    }
+
+    public Mono<User> login(String userId, String password) {
+        Query query = Query.query(new Criteria().orOperator(Criteria.where("email").is(userId), Criteria.where("mobile").is(userId)));
+        return mongoTemplate.findOne(query, User.class)
+                .switchIfEmpty(Mono.error(new RuntimeException("User not found")))
+                .flatMap(u -> userService.hash(password).equals(u.getPassword())
+                        ? Mono.just(u)
+                        : Mono.<User>error(new RuntimeException("Wrong Password")));
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.test.demo.Services.User;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bson.types.ObjectId;
+
+/**
+ * Claims carried by a verified session token.
+ */
+@Getter
+@AllArgsConstructor
+public class Session {
+
+    private final ObjectId userId;
+
+    private final String name;
+
+    // Epoch seconds
+    private final long expiresAt;
+
+    // Random per-token id, used for revocation
+    private final long nonce;
+}
@@ -0,0 +1,257 @@
+package com.example.test.demo.Services.User;
+
+import com.example.test.demo.Schema.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.example.test.demo.Utility.Util.addCookie;
+import static com.example.test.demo.Utility.Util.clearCookie;
+
+/**
+ * Stateless sessions: a single HMAC-SHA256 signed cookie carrying user id, name and expiry.
+ * Verifying it is local CPU work, so authenticated requests need no database round trip.
+ * Token layout: base64url(userId[12] | expiresAt[8] | nonce[8] | name) "." base64url(hmac).
+ *
+ * Revocation (logout) is recorded in this process only: with several nodes, a revoked token stays
+ * valid on the others until it expires (cinemate.session.ttl). The full user document, needed only by
+ * /api/user/data, comes from a short-TTL cache filled at login and evicted on every user write.
+ */
+@Service
+public class SessionService {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionService.class);
+
+    public static final String COOKIE = "session";
+
+    private static final String SESSION_ATTR = SessionService.class.getName() + ".session";
+
+    private static final String USER_ATTR = SessionService.class.getName() + ".user";
+
+    // Cookies written before signed sessions existed
+    private static final String[] LEGACY_COOKIES = {"user_id", "name", "email", "mobile"};
+
+    private static final int HEADER_BYTES = 12 + 8 + 8;
+
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder B64D = Base64.getUrlDecoder();
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cinemate.cache.users.max-size:10000}")
+    private long usersMaxSize;
+
+    @Value("${cinemate.cache.users.ttl:1m}")
+    private Duration usersTtl;
+
+    private Cache<ObjectId, User> users;
+
+    @Value("${cinemate.session.secret:}")
+    private String secret;
+
+    @Value("${cinemate.session.ttl:7d}")
+    private Duration ttl;
+
+    private final SecureRandom random = new SecureRandom();
+
+    // nonce -> expiresAt of revoked tokens; entries are dropped once the token would have expired anyway
+    private final Map<Long, Long> revoked = new ConcurrentHashMap<>();
+
+    private Mac prototype;
+
+    @PostConstruct
+    public void init() throws GeneralSecurityException {
+        users = Caffeine.newBuilder()
+                .maximumSize(usersMaxSize)
+                .expireAfterWrite(usersTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+
+        byte[] key;
+        if (secret == null || secret.isBlank()) {
+            key = new byte[32];
+            random.nextBytes(key);
+            log.warn("cinemate.session.secret is not set; using a random key, sessions will not survive a restart");
+        } else {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        prototype = Mac.getInstance("HmacSHA256");
+        prototype.init(new SecretKeySpec(key, "HmacSHA256"));
+    }
+
+    public String issue(User user) {
+        long expiresAt = System.currentTimeMillis() / 1000 + ttl.toSeconds();
+        byte[] name = user.getName().getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer payload = ByteBuffer.allocate(HEADER_BYTES + name.length);
+        payload.put(user.getId().toByteArray());
+        payload.putLong(expiresAt);
+        payload.putLong(random.nextLong());
+        payload.put(name);
+
+        byte[] bytes = payload.array();
+        return B64.encodeToString(bytes) + "." + B64.encodeToString(sign(bytes));
+    }
+
+    public Optional<Session> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return Optional.empty();
+        }
+
+        byte[] bytes;
+        byte[] sig;
+        try {
+            bytes = B64D.decode(token.substring(0, dot));
+            sig = B64D.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        if (bytes.length < HEADER_BYTES || !MessageDigest.isEqual(sign(bytes), sig)) {
+            return Optional.empty();
+        }
+
+        ByteBuffer payload = ByteBuffer.wrap(bytes);
+        byte[] id = new byte[12];
+        payload.get(id);
+        long expiresAt = payload.getLong();
+        long nonce = payload.getLong();
+        String name = new String(bytes, HEADER_BYTES, bytes.length - HEADER_BYTES, StandardCharsets.UTF_8);
+
+        if (expiresAt < System.currentTimeMillis() / 1000 || revoked.containsKey(nonce)) {
+            return Optional.empty();
+        }
+        return Optional.of(new Session(new ObjectId(id), name, expiresAt, nonce));
+    }
+
+    // Verified session for this request, memoized on the request.
+    public Optional<Session> session(HttpServletRequest req) {
+        Object memo = req.getAttribute(SESSION_ATTR);
+        if (memo instanceof Session s) {
+            return Optional.of(s);
+        }
+
+        Optional<Session> s = verify(readCookie(req));
+        s.ifPresent(v -> req.setAttribute(SESSION_ATTR, v));
+        return s;
+    }
+
+    // Full user document for this request, from the user cache; Mongo is read only on a miss.
+    public Optional<User> currentUser(HttpServletRequest req) {
+        Object memo = req.getAttribute(USER_ATTR);
+        if (memo instanceof User u) {
+            return Optional.of(u);
+        }
+
+        Optional<User> u = session(req).map(s -> users.get(s.getUserId(), id -> userRepo.findById(id).orElse(null)));
+        u.ifPresent(v -> req.setAttribute(USER_ATTR, v));
+        return u;
+    }
+
+    public void start(HttpServletRequest req, HttpServletResponse res, User user) {
+        addCookie(res, COOKIE, issue(user), (int) ttl.toSeconds());
+        req.setAttribute(USER_ATTR, user);
+        cacheUser(user);
+    }
+
+    // WebFlux counterpart of start(req, res, user): same cookie, same cache fill.
+    public void start(ServerHttpResponse res, User user) {
+        res.addCookie(ResponseCookie.from(COOKIE, issue(user)).httpOnly(true).path("/").maxAge(ttl).build());
+        cacheUser(user);
+    }
+
+    // Cached user document for a session, without falling back to Mongo; reactive callers load misses themselves.
+    public Optional<User> cachedUser(Session session) {
+        return Optional.ofNullable(users.getIfPresent(session.getUserId()));
+    }
+
+    public void cacheUser(User user) {
+        users.put(user.getId(), user);
+    }
+
+    // Called after any write to the user document.
+    public void evictUser(ObjectId userId) {
+        users.invalidate(userId);
+    }
+
+    public void end(HttpServletRequest req, HttpServletResponse res) {
+        session(req).ifPresent(this::revoke);
+        clearCookie(res, COOKIE);
+        for (String legacy : LEGACY_COOKIES) {
+            clearCookie(res, legacy);
+        }
+    }
+
+    // WebFlux counterpart of end(req, res).
+    public void end(String token, ServerHttpResponse res) {
+        verify(token).ifPresent(this::revoke);
+        res.addCookie(ResponseCookie.from(COOKIE, "").path("/").maxAge(0).build());
+        for (String legacy : LEGACY_COOKIES) {
+            res.addCookie(ResponseCookie.from(legacy, "").path("/").maxAge(0).build());
+        }
+    }
+
+    public void revoke(Session session) {
+        long now = System.currentTimeMillis() / 1000;
+        revoked.values().removeIf(expiresAt -> expiresAt < now);
+        revoked.put(session.getNonce(), session.getExpiresAt());
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = (Mac) prototype.clone();
+            return mac.doFinal(payload);
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String readCookie(HttpServletRequest req) {
+        Cookie[] cookies = req.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie c : cookies) {
+            if (COOKIE.equals(c.getName())) {
+                return c.getValue();
+            }
+        }
+        return null;
+    }
+}
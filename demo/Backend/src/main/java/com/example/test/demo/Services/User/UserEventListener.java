@@ -0,0 +1,32 @@
+package com.example.test.demo.Services.User;
+
+import com.example.test.demo.Schema.User;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+// Keeps the session user cache in step with saves and deletes made through Spring Data.
+@Component
+public class UserEventListener extends AbstractMongoEventListener<User> {
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<User> event) {
+        if (event.getSource().getId() != null) {
+            sessionService.evictUser(event.getSource().getId());
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<User> event) {
+        Object id = event.getSource().get("_id");
+        if (id instanceof ObjectId objectId) {
+            sessionService.evictUser(objectId);
+        }
+    }
+}
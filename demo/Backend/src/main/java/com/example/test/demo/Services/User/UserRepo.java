@@ -12,4 +12,7 @@ public interface UserRepo extends MongoRepository<User, ObjectId> {
     Optional<User> findByEmail(String email);
 
     Optional<User> findByMobile(String mobile);
+
+    // Single $or query; each branch is served by its own unique index.
+    Optional<User> findFirstByEmailOrMobile(String email, String mobile);
 }
@@ -1,8 +1,12 @@
 package com.example.test.demo.Services.User;
 
 import com.example.test.demo.Schema.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -18,17 +22,32 @@ public class UserService {
     @Autowired
     private UserRepo userRepo;
 
-    public ResponseEntity<User> newUser(User u) {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer hashTimer;
 
-        Optional<User> emailchk = userRepo.findByEmail(u.getEmail());
-        Optional<User> mobileChk = userRepo.findByMobile(u.getMobile());
+    @PostConstruct
+    public void initMetrics() {
+        hashTimer = Timer.builder("cinemate.user.password.hash")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Timed separately so login latency can be split between hashing and the user lookup.
+    public String hash(String password) {
+        return hashTimer.record(() -> hashPassword(password));
+    }
 
-        if (emailchk.isPresent() || mobileChk.isPresent()) {
+    public ResponseEntity<User> newUser(User u) {
+
+        // The unique email/mobile indexes reject duplicates atomically, in the same round trip as the insert.
+        try {
+            User result = userRepo.insert(u);
+            return ResponseEntity.ok(result);
+        } catch (DuplicateKeyException e) {
             throw  new RuntimeException("Email Or Mobile already exists");
         }
-
-        User result = userRepo.save(u);
-        return ResponseEntity.ok(result);
     }
 
     public ResponseEntity<List<User>> findAll() {
@@ -46,17 +65,14 @@ public class UserService {
     }
 
     public ResponseEntity<?> login(String userId, String password){
-        Optional<User> u = userRepo.findByEmail(userId);
-        if(u.isEmpty()){
-            u = userRepo.findByMobile(userId);
-        }
+        Optional<User> u = userRepo.findFirstByEmailOrMobile(userId, userId);
         if(u.isEmpty()){
             throw  new RuntimeException("User not found");
         }
 
         String pass = u.get().getPassword();
 
-        String hpass = hashPassword(password);
+        String hpass = hash(password);
 
         if(hpass.equals(pass)){
             return ResponseEntity.ok(u);
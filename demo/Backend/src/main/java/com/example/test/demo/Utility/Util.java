@@ -11,11 +11,15 @@ import java.security.NoSuchAlgorithmException;
 public class Util {
 
     public static void addCookie(HttpServletResponse res, String name, String value) {
+        addCookie(res, name, value, 60 * 60 * 24 * 7); // 7 days
+    }
+
+    public static void addCookie(HttpServletResponse res, String name, String value, int maxAge) {
         String encoded = URLEncoder.encode(value, StandardCharsets.UTF_8);
         Cookie cookie = new Cookie(name, encoded);
         cookie.setHttpOnly(true);
         cookie.setPath("/");
-        cookie.setMaxAge(60 * 60 * 24 * 7); // 7 days
+        cookie.setMaxAge(maxAge);
         res.addCookie(cookie);
     }
 
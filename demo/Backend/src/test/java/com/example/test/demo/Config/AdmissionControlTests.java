@@ -0,0 +1,62 @@
+package com.example.test.demo.Config;
+
+import com.example.test.demo.Services.User.SessionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AdmissionControlTests {
+
+	private final AdmissionControl admissionControl = new AdmissionControl();
+
+	@BeforeEach
+	void setUp() {
+		SessionService sessionService = mock(SessionService.class);
+		when(sessionService.session(any())).thenReturn(Optional.empty());
+		ReflectionTestUtils.setField(admissionControl, "sessionService", sessionService);
+		ReflectionTestUtils.setField(admissionControl, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(admissionControl, "environment", new MockEnvironment()
+				.withProperty("cinemate.admission.login.rate", "0.001")
+				.withProperty("cinemate.admission.login.burst", "2"));
+		ReflectionTestUtils.setField(admissionControl, "maxConcurrentWrites", 4);
+		admissionControl.init();
+	}
+
+	@Test
+	void signedOutClientsAreLimitedPerAddress() throws Exception {
+		HandlerInterceptor login = admissionControl.route("login", false, 1, 30);
+
+		assertTrue(login.preHandle(login("203.0.113.7"), new MockHttpServletResponse(), null));
+		assertTrue(login.preHandle(login("203.0.113.7"), new MockHttpServletResponse(), null));
+		MockHttpServletResponse limited = new MockHttpServletResponse();
+		assertFalse(login.preHandle(login("203.0.113.7"), limited, null));
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), limited.getStatus());
+		assertTrue(Long.parseLong(limited.getHeader(HttpHeaders.RETRY_AFTER)) > 0);
+
+		// Another address has its own bucket, untouched by the first one running dry.
+		assertTrue(login.preHandle(login("198.51.100.20"), new MockHttpServletResponse(), null));
+		assertTrue(login.preHandle(login("198.51.100.20"), new MockHttpServletResponse(), null));
+	}
+
+	private static MockHttpServletRequest login(String remoteAddr) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/user/login");
+		request.setRemoteAddr(remoteAddr);
+		return request;
+	}
+}
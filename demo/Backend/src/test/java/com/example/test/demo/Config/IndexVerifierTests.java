@@ -0,0 +1,55 @@
+package com.example.test.demo.Config;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexVerifierTests {
+
+	private final IndexDefinition declared = new Index()
+			.on("imdbId", Sort.Direction.ASC)
+			.on("createdAt", Sort.Direction.DESC)
+			.on("_id", Sort.Direction.DESC);
+
+	@Test
+	void sameKeysAndDirectionsMatch() {
+		assertEquals(Optional.empty(), check(declared, "{imdbId: 1, createdAt: -1, _id: -1}"));
+	}
+
+	@Test
+	void otherDirectionsAreDrift() {
+		assertEquals(Optional.of("Review is missing index on [imdbId:1, createdAt:-1, _id:-1]"),
+				check(declared, "{imdbId: 1, createdAt: 1, _id: 1}"));
+	}
+
+	@Test
+	void otherIndexTypesOnTheSameFieldsAreDrift() {
+		IndexDefinition email = new Index().on("email", Sort.Direction.ASC);
+		assertTrue(check(email, "{email: 'hashed'}").isPresent());
+		assertTrue(check(email, "{email: '2dsphere'}").isPresent());
+		assertEquals(Optional.empty(), check(email, "{email: 1}"));
+	}
+
+	@Test
+	void lostUniquenessIsDrift() {
+		IndexDefinition email = new Index().on("email", Sort.Direction.ASC).unique();
+		assertEquals(Optional.of("Review index email_1 on [email:1] is not unique"), check(email, "{email: 1}"));
+	}
+
+	// existing is the key document listIndexes returns.
+	private static Optional<String> check(IndexDefinition def, String existing) {
+		Document keys = Document.parse(existing);
+		String name = String.join("_", keys.entrySet().stream().map(e -> e.getKey() + "_" + e.getValue()).toList());
+		IndexInfo info = IndexInfo.indexInfoOf(new Document("key", keys).append("name", name));
+		return IndexVerifier.checkIndex("Review", def, List.of(info));
+	}
+}
@@ -0,0 +1,90 @@
+package com.example.test.demo.Config;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.internal.connection.PowerOfTwoBufferPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.ByteBuf;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(OutputCaptureExtension.class)
+class MongoCommandMetricsTests {
+
+	@Test
+	void shapeKeepsFieldsAndOperatorsOnly() {
+		BsonDocument filter = BsonDocument.parse("{\"$or\": [{\"email\": \"jane@example.com\"}, {\"mobile\": \"9999999999\"}],"
+				+ " \"userId\": {\"$oid\": \"65f000000000000000000001\"}, \"createdAt\": {\"$lt\": {\"$date\": 0}},"
+				+ " \"imdbId\": {\"$in\": [\"tt1\", \"tt2\"]}}");
+
+		assertEquals(BsonDocument.parse("{\"$or\": [{\"email\": \"?\"}, {\"mobile\": \"?\"}], \"userId\": \"?\","
+				+ " \"createdAt\": {\"$lt\": \"?\"}, \"imdbId\": {\"$in\": [\"?\"]}}"), MongoCommandMetrics.shape(filter));
+	}
+
+	// The driver hands listeners a document over its pooled command buffer and reuses that buffer once
+	// commandStarted returns; the slow-query line must not read it afterwards.
+	@Test
+	void slowQueryLogSurvivesReuseOfThePooledCommandBuffer(CapturedOutput output) throws Exception {
+		MongoCommandMetrics metrics = new MongoCommandMetrics();
+		ReflectionTestUtils.setField(metrics, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(metrics, "slowThreshold", Duration.ZERO);
+
+		byte[] encoded = bytes(BsonDocument.parse(
+				"{\"find\": \"Users\", \"filter\": {\"email\": \"jane@example.com\"}, \"$db\": \"cinemate\"}"));
+		ByteBuf buffer = PowerOfTwoBufferPool.DEFAULT.getBuffer(encoded.length);
+		buffer.put(encoded, 0, encoded.length).flip();
+		ConnectionDescription connection = new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+		metrics.commandStarted(new CommandStartedEvent(null, 1, 7, connection, "cinemate", "find", pooled(buffer)));
+
+		// Released and handed to the next command, which overwrites it.
+		buffer.release();
+		ByteBuf reused = PowerOfTwoBufferPool.DEFAULT.getBuffer(encoded.length);
+		byte[] junk = new byte[encoded.length];
+		Arrays.fill(junk, (byte) 0x7f);
+		reused.put(junk, 0, junk.length);
+
+		BsonDocument reply = BsonDocument.parse("{\"cursor\": {\"firstBatch\": [{}], \"id\": 0, \"ns\": \"cinemate.Users\"}, \"ok\": 1}");
+		metrics.commandSucceeded(new CommandSucceededEvent(null, 1, 7, connection, "cinemate", "find", reply,
+				TimeUnit.MILLISECONDS.toNanos(5)));
+		reused.release();
+
+		assertTrue(output.getOut().contains("Slow Mongo find on Users"), output.getOut());
+		assertTrue(output.getOut().contains("filter {\"email\": \"?\"}"), output.getOut());
+		assertFalse(output.getOut().contains("jane@example.com"));
+	}
+
+	private static byte[] bytes(BsonDocument document) {
+		ByteBuf buf = new RawBsonDocument(document, new BsonDocumentCodec()).getByteBuffer();
+		byte[] bytes = new byte[buf.remaining()];
+		buf.get(bytes);
+		return bytes;
+	}
+
+	// The driver's own ByteBufBsonDocument, the type commandStarted receives; it is package-private.
+	private static BsonDocument pooled(ByteBuf buffer) throws Exception {
+		Class<?> type = Class.forName("com.mongodb.internal.connection.ByteBufBsonDocument");
+		Method createOne = type.getDeclaredMethod("createOne", ByteBuf.class);
+		createOne.setAccessible(true);
+		return (BsonDocument) createOne.invoke(null, buffer);
+	}
+}
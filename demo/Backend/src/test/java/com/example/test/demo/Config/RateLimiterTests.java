@@ -0,0 +1,63 @@
+package com.example.test.demo.Config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTests {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+	@Test
+	void admitsBurstThenReturnsWait() {
+		RateLimiter limiter = new RateLimiter(1, 5);
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, limiter.tryAcquire("a", clock::get), "request " + i);
+		}
+		assertEquals(SECOND, limiter.tryAcquire("a", clock::get));
+
+		clock.addAndGet(SECOND / 4);
+		assertEquals(3 * SECOND / 4, limiter.tryAcquire("a", clock::get));
+	}
+
+	@Test
+	void refillsAtSteadyRate() {
+		RateLimiter limiter = new RateLimiter(2, 2);
+		assertEquals(0, limiter.tryAcquire("a", clock::get));
+		assertEquals(0, limiter.tryAcquire("a", clock::get));
+		assertTrue(limiter.tryAcquire("a", clock::get) > 0);
+
+		// One token back per half second at 2/s.
+		clock.addAndGet(SECOND / 2);
+		assertEquals(0, limiter.tryAcquire("a", clock::get));
+		assertTrue(limiter.tryAcquire("a", clock::get) > 0);
+
+		// A long idle period refills only up to the burst.
+		clock.addAndGet(60 * SECOND);
+		assertEquals(0, limiter.tryAcquire("a", clock::get));
+		assertEquals(0, limiter.tryAcquire("a", clock::get));
+		assertTrue(limiter.tryAcquire("a", clock::get) > 0);
+	}
+
+	@Test
+	void keysAreIndependent() {
+		RateLimiter limiter = new RateLimiter(1, 1);
+		assertEquals(0, limiter.tryAcquire("a", clock::get));
+		assertTrue(limiter.tryAcquire("a", clock::get) > 0);
+		assertEquals(0, limiter.tryAcquire("b", clock::get));
+	}
+
+	@Test
+	void retryAfterRoundsUpToWholeSeconds() {
+		assertEquals(1, RateLimiter.retryAfterSeconds(1));
+		assertEquals(1, RateLimiter.retryAfterSeconds(SECOND));
+		assertEquals(2, RateLimiter.retryAfterSeconds(SECOND + 1));
+	}
+}
@@ -0,0 +1,40 @@
+package com.example.test.demo.Config;
+
+import io.micrometer.observation.ObservationPredicate;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebConfigTests {
+
+	private final ObservationPredicate predicate = new WebConfig().skipWarmupRequests();
+
+	@Test
+	void warmupRequestsFromLoopbackAreNotObserved() {
+		assertFalse(observed(request("127.0.0.1", true)));
+		assertFalse(observed(request("::1", true)));
+	}
+
+	@Test
+	void otherRequestsAreObserved() {
+		assertTrue(observed(request("127.0.0.1", false)));
+		assertTrue(observed(request("203.0.113.7", true)));
+	}
+
+	private boolean observed(MockHttpServletRequest request) {
+		return predicate.test("http.server.requests", new ServerRequestObservationContext(request, new MockHttpServletResponse()));
+	}
+
+	private static MockHttpServletRequest request(String remoteAddr, boolean warmup) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/movies/");
+		request.setRemoteAddr(remoteAddr);
+		if (warmup) {
+			request.addHeader(StartupWarmup.HEADER, "1");
+		}
+		return request;
+	}
+}
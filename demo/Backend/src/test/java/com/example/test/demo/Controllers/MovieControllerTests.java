@@ -0,0 +1,25 @@
+package com.example.test.demo.Controllers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MovieControllerTests {
+
+	@Test
+	void acceptsGzipHonoursQualityValues() {
+		assertTrue(MovieController.acceptsGzip("gzip"));
+		assertTrue(MovieController.acceptsGzip("br, GZIP;q=0.5"));
+		assertTrue(MovieController.acceptsGzip("x-gzip"));
+		assertTrue(MovieController.acceptsGzip("br, *"));
+
+		assertFalse(MovieController.acceptsGzip(null));
+		assertFalse(MovieController.acceptsGzip("identity"));
+		assertFalse(MovieController.acceptsGzip("gzip;q=0"));
+		assertFalse(MovieController.acceptsGzip("gzip; q=0.0, br"));
+		assertFalse(MovieController.acceptsGzip("*, gzip;q=0"));
+		assertFalse(MovieController.acceptsGzip("*;q=0"));
+		assertFalse(MovieController.acceptsGzip("notgzip"));
+	}
+}
@@ -1,11 +1,22 @@
 package com.example.test.demo;
 
+import com.example.test.demo.Services.Movie.CatalogIndex;
+import com.example.test.demo.Services.Movie.TitleIndex;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
-@SpringBootTest
+// Nothing here may reach Mongo: index verification and warm-up are switched off, and the in-memory
+// indexes, which load the catalog on startup, are stood in for.
+@SpringBootTest(properties = {"cinemate.indexes.verify=false", "cinemate.warmup.enabled=false"})
 class DemoApplicationTests {
 
+	@MockitoBean
+	private TitleIndex titleIndex;
+
+	@MockitoBean
+	private CatalogIndex catalogIndex;
+
 	@Test
 	void contextLoads() {
 	}
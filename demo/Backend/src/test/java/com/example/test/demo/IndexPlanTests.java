@@ -0,0 +1,91 @@
+package com.example.test.demo;
+
+import com.example.test.demo.Config.IndexVerifier;
+import com.example.test.demo.Schema.Movie;
+import com.example.test.demo.Schema.Review;
+import com.example.test.demo.Schema.User;
+import com.mongodb.client.FindIterable;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs explain() on the filters our repositories and services issue and fails on any COLLSCAN.
+@DataMongoTest(properties = "spring.data.mongodb.database=cinemate_test")
+@Import(IndexVerifier.class)
+@Testcontainers(disabledWithoutDocker = true)
+class IndexPlanTests {
+
+	@Container
+	@ServiceConnection
+	static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Autowired
+	private IndexVerifier indexVerifier;
+
+	@Test
+	void declaredIndexesExist() {
+		assertTrue(indexVerifier.verify().isEmpty());
+	}
+
+	@Test
+	void movieQueriesUseIndexes() {
+		assertIndexed(Movie.class, new Document("imdbId", "tt0000001"), null);
+		assertIndexed(Movie.class, new Document("title", "Some Title"), null);
+		assertIndexed(Movie.class, new Document("_id", new Document("$gt", new ObjectId())), new Document("_id", 1));
+		assertIndexed(Movie.class, new Document("ratings.count", new Document("$gte", 1)),
+				new Document("ratings.average", -1).append("ratings.count", -1));
+	}
+
+	@Test
+	void reviewQueriesUseIndexes() {
+		assertIndexed(Review.class, new Document("imdbId", "tt0000001"), new Document("createdAt", -1).append("_id", -1));
+		assertIndexed(Review.class, new Document("userId", new ObjectId()), new Document("createdAt", -1).append("_id", -1));
+	}
+
+	@Test
+	void userQueriesUseIndexes() {
+		assertIndexed(User.class, new Document("email", "a@b.c"), null);
+		assertIndexed(User.class, new Document("mobile", "9999999999"), null);
+		assertIndexed(User.class, new Document("$or", List.of(
+				new Document("email", "9999999999"), new Document("mobile", "9999999999"))), null);
+	}
+
+	private void assertIndexed(Class<?> type, Document filter, Document sort) {
+		FindIterable<Document> find = mongoTemplate.getCollection(mongoTemplate.getCollectionName(type)).find(filter);
+		if (sort != null) {
+			find = find.sort(sort);
+		}
+		Document plan = find.explain().get("queryPlanner", Document.class).get("winningPlan", Document.class);
+		assertFalse(hasCollScan(plan), type.getSimpleName() + " " + filter.toJson() + " is a COLLSCAN: " + plan.toJson());
+	}
+
+	private boolean hasCollScan(Object node) {
+		if (node instanceof Map<?, ?> map) {
+			if ("COLLSCAN".equals(map.get("stage"))) {
+				return true;
+			}
+			return map.values().stream().anyMatch(this::hasCollScan);
+		}
+		if (node instanceof List<?> list) {
+			return list.stream().anyMatch(this::hasCollScan);
+		}
+		return false;
+	}
+}
@@ -0,0 +1,37 @@
+package com.example.test.demo;
+
+import com.example.test.demo.Config.NativeHints;
+import com.example.test.demo.Config.ObjectIdSerializer;
+import com.example.test.demo.Schema.Movie;
+import com.example.test.demo.Schema.Review;
+import com.example.test.demo.Services.Review.ReviewPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The AOT build and native image only see these types through the registered hints.
+class NativeHintsTests {
+
+	@Test
+	void registersSchemaAndResponseTypes() throws Exception {
+		RuntimeHints hints = new RuntimeHints();
+		for (Class<?> registrar : NativeHints.class.getAnnotation(ImportRuntimeHints.class).value()) {
+			var constructor = registrar.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			((RuntimeHintsRegistrar) constructor.newInstance()).registerHints(hints, getClass().getClassLoader());
+		}
+		new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+				NativeHints.class.getAnnotation(RegisterReflectionForBinding.class).value());
+
+		assertTrue(RuntimeHintsPredicates.reflection().onType(ObjectIdSerializer.class).test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection().onField(Review.class, "createdAt").test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection().onMethod(Movie.class, "getRatings").test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection().onMethod(ReviewPage.class, "getReviews").test(hints));
+	}
+}
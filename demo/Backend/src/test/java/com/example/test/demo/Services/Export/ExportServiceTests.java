@@ -0,0 +1,104 @@
+package com.example.test.demo.Services.Export;
+
+import com.example.test.demo.Schema.User;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExportServiceTests {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+	@SuppressWarnings("unchecked")
+	private final MongoCollection<Document> collection = mock(MongoCollection.class);
+
+	@SuppressWarnings("unchecked")
+	private final FindIterable<Document> find = mock(FindIterable.class, RETURNS_SELF);
+
+	private final ExportService exportService = new ExportService();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(exportService, "mongoTemplate", mongoTemplate);
+		when(mongoTemplate.getCollectionName(User.class)).thenReturn("Users");
+		when(mongoTemplate.getCollection("Users")).thenReturn(collection);
+		when(collection.find(any(Bson.class))).thenReturn(find);
+	}
+
+	@Test
+	void writesOneRelaxedJsonLinePerDocument() throws Exception {
+		ObjectId first = new ObjectId();
+		ObjectId second = new ObjectId();
+		cursor(new Document("_id", first).append("name", "Jane").append("createdAt", new Date(0)),
+				new Document("_id", second).append("name", "Joe"));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertEquals(2, exportService.export("users", null, out));
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(2, lines.length);
+		assertEquals("{\"_id\": {\"$oid\": \"" + first.toHexString() + "\"}, \"name\": \"Jane\", \"createdAt\": {\"$date\": \"1970-01-01T00:00:00Z\"}}", lines[0]);
+		assertEquals(second, Document.parse(lines[1]).getObjectId("_id"));
+	}
+
+	@Test
+	void excludesPasswordsAndResumesAfterTheCheckpoint() throws Exception {
+		cursor();
+		ObjectId after = new ObjectId();
+
+		exportService.export("users", after, new ByteArrayOutputStream());
+
+		ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+		verify(collection).find(filter.capture());
+		assertEquals(BsonDocument.parse("{\"_id\": {\"$gt\": {\"$oid\": \"" + after.toHexString() + "\"}}}"),
+				filter.getValue().toBsonDocument());
+
+		ArgumentCaptor<Bson> projection = ArgumentCaptor.forClass(Bson.class);
+		verify(find).projection(projection.capture());
+		assertEquals(BsonDocument.parse("{\"password\": 0}"), projection.getValue().toBsonDocument());
+
+		ArgumentCaptor<Bson> sort = ArgumentCaptor.forClass(Bson.class);
+		verify(find).sort(sort.capture());
+		assertEquals(BsonDocument.parse("{\"_id\": 1}"), sort.getValue().toBsonDocument());
+	}
+
+	@Test
+	void rejectsUnknownCollections() {
+		RuntimeException e = assertThrows(RuntimeException.class,
+				() -> exportService.export("sessions", null, new ByteArrayOutputStream()));
+		assertTrue(e.getMessage().startsWith("Unknown collection sessions"));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void cursor(Document... docs) {
+		Iterator<Document> it = List.of(docs).iterator();
+		MongoCursor<Document> cursor = mock(MongoCursor.class);
+		when(cursor.hasNext()).thenAnswer(inv -> it.hasNext());
+		when(cursor.next()).thenAnswer(inv -> it.next());
+		when(find.cursor()).thenReturn(cursor);
+	}
+}
@@ -0,0 +1,177 @@
+package com.example.test.demo.Services.Movie;
+
+import com.example.test.demo.Schema.Movie;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogImporterTests {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+	private final MovieService movieService = mock(MovieService.class);
+
+	private final BulkOperations ops = mock(BulkOperations.class, RETURNS_SELF);
+
+	private final CatalogImporter importer = new CatalogImporter();
+
+	@BeforeEach
+	void setUp() {
+		MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+		MongoMappingContext context = new MongoMappingContext();
+		context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+		context.afterPropertiesSet();
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+		converter.setCustomConversions(conversions);
+		converter.afterPropertiesSet();
+		when(mongoTemplate.getConverter()).thenReturn(converter);
+		when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Movie.class))).thenReturn(ops);
+
+		ReflectionTestUtils.setField(importer, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(importer, "movieService", movieService);
+		ReflectionTestUtils.setField(importer, "objectMapper", new ObjectMapper().findAndRegisterModules());
+		ReflectionTestUtils.setField(importer, "defaultBatchSize", 1000);
+		ReflectionTestUtils.setField(importer, "defaultParallelism", 2);
+	}
+
+	@Test
+	void insertModeOnlySetsFieldsOnInsert() throws Exception {
+		when(ops.execute()).thenReturn(result(1, new ObjectId()));
+
+		ImportReport report = importer.importMovies(input("{\"imdbId\":\"tt1\",\"title\":\"One\",\"genres\":[\"Drama\"]}\n"
+				+ "{\"imdbId\":\"tt2\",\"title\":\"Two\"}\n"), CatalogImporter.Mode.INSERT);
+
+		assertEquals(2, report.getRead());
+		assertEquals(1, report.getInserted());
+		assertEquals(1, report.getMatched());
+
+		List<Document> updates = updates(2);
+		Document first = updates.get(0);
+		assertEquals(List.of("$setOnInsert"), List.copyOf(first.keySet()));
+		Document onInsert = first.get("$setOnInsert", Document.class);
+		assertEquals("tt1", onInsert.get("imdbId"));
+		assertEquals(List.of("Drama"), onInsert.get("genres"));
+		assertFalse(onInsert.containsKey("_id"));
+
+		// Matched movies are untouched in insert mode, so their ids are never looked up.
+		verify(mongoTemplate, never()).find(any(Query.class), eq(Movie.class));
+		verify(movieService).refreshAll(any());
+	}
+
+	@Test
+	void upsertModeOverwritesAndBumpsVersion() throws Exception {
+		when(ops.execute()).thenReturn(result(1));
+		Movie existing = new Movie();
+		existing.setId(new ObjectId());
+		existing.setImdbId("tt1");
+		when(mongoTemplate.find(any(Query.class), eq(Movie.class))).thenReturn(List.of(existing));
+
+		ImportReport report = importer.importMovies(input("[{\"imdbId\":\"tt1\",\"title\":\"New title\"}]"), CatalogImporter.Mode.UPSERT);
+
+		assertEquals(0, report.getInserted());
+		assertEquals(1, report.getMatched());
+		Document update = updates(1).get(0);
+		assertEquals("New title", update.get("$set", Document.class).get("title"));
+		assertEquals(1, update.get("$inc", Document.class).get("version"));
+		assertTrue(update.get("$currentDate", Document.class).containsKey("updatedAt"));
+		assertNull(update.get("$setOnInsert"));
+
+		// The matched movie's id is looked up so the in-memory views are refreshed under the right id.
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Collection<Movie>> refreshed = ArgumentCaptor.forClass(Collection.class);
+		verify(movieService).refreshAll(refreshed.capture());
+		assertEquals(List.of(existing.getId()), refreshed.getValue().stream().map(Movie::getId).toList());
+	}
+
+	@Test
+	void invalidDocumentsAreReportedAndDatabaseOwnedFieldsDropped() throws Exception {
+		when(ops.execute()).thenReturn(result(0, new ObjectId()));
+
+		ImportReport report = importer.importMovies(input("[1, {\"title\":\"No id\"}, {\"imdbId\":\"tt3\"},"
+				+ " {\"imdbId\":\"tt4\",\"title\":\"Four\",\"bogus\":true},"
+				+ " {\"imdbId\":\"tt5\",\"title\":\"Five\",\"_id\":\"x\",\"ratings\":{\"count\":9},\"reviewCount\":9,\"version\":7}]"),
+				CatalogImporter.Mode.INSERT);
+
+		assertEquals(5, report.getRead());
+		assertEquals(4, report.getInvalid());
+		assertEquals(4, report.getErrors().size());
+		assertTrue(report.getErrors().get(0).startsWith("#1: not a JSON object"));
+		assertTrue(report.getErrors().get(1).startsWith("#2: imdbId is required"));
+		assertTrue(report.getErrors().get(2).startsWith("#3: title is required"));
+		assertTrue(report.getErrors().get(3).startsWith("#4: "));
+
+		Document onInsert = updates(1).get(0).get("$setOnInsert", Document.class);
+		assertEquals("tt5", onInsert.get("imdbId"));
+		for (String owned : List.of("_id", "ratings", "reviewCount", "version")) {
+			assertFalse(onInsert.containsKey(owned), owned);
+		}
+	}
+
+	@Test
+	void splitsIntoBatches() throws Exception {
+		when(ops.execute()).thenReturn(result(0));
+		StringBuilder ndjson = new StringBuilder();
+		for (int i = 0; i < 5; i++) {
+			ndjson.append("{\"imdbId\":\"tt").append(i).append("\",\"title\":\"T\"}\n");
+		}
+
+		importer.importMovies(input(ndjson.toString()), CatalogImporter.Mode.INSERT, 2, 1);
+
+		verify(mongoTemplate, times(3)).bulkOps(any(BulkOperations.BulkMode.class), eq(Movie.class));
+	}
+
+	private List<Document> updates(int count) {
+		ArgumentCaptor<Update> captor = ArgumentCaptor.forClass(Update.class);
+		verify(ops, times(count)).upsert(any(Query.class), captor.capture());
+		List<Document> updates = new ArrayList<>();
+		captor.getAllValues().forEach(u -> updates.add(u.getUpdateObject()));
+		return updates;
+	}
+
+	// matched existing movies, then one upsert per inserted id
+	private static BulkWriteResult result(int matched, ObjectId... inserted) {
+		List<BulkWriteUpsert> upserts = new ArrayList<>();
+		for (int i = 0; i < inserted.length; i++) {
+			upserts.add(new BulkWriteUpsert(i, new BsonObjectId(inserted[i])));
+		}
+		return BulkWriteResult.acknowledged(0, matched, 0, 0, upserts, List.of());
+	}
+
+	private static ByteArrayInputStream input(String json) {
+		return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+	}
+}
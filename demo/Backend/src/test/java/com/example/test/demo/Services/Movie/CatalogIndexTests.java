@@ -0,0 +1,98 @@
+package com.example.test.demo.Services.Movie;
+
+import com.example.test.demo.Schema.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CatalogIndexTests {
+
+	private final CatalogIndex index = new CatalogIndex();
+
+	@BeforeEach
+	void setUp() {
+		index.upsert(movie("tt1", "2001-05-10", "Action", "Comedy"));
+		index.upsert(movie("tt2", "2010-01-01", "Action"));
+		index.upsert(movie("tt3", "2010-12-31", "Drama"));
+		index.upsert(movie("tt4", null, "Action", "Drama"));
+	}
+
+	@Test
+	void genresAreAndedAndCaseInsensitive() {
+		CatalogIndex.Result r = index.browse(List.of("action", "DRAMA"), null, null, 0, 10);
+		assertEquals(1, r.total());
+		assertEquals(List.of("tt4"), r.imdbIds());
+	}
+
+	@Test
+	void unknownGenreMatchesNothing() {
+		CatalogIndex.Result r = index.browse(List.of("Western"), null, null, 0, 10);
+		assertEquals(0, r.total());
+		assertEquals(List.of(), r.imdbIds());
+		assertEquals(Map.of(), r.facets());
+	}
+
+	@Test
+	void partialDatesCoverTheWholePeriodAndUndatedMoviesAreExcluded() {
+		assertEquals(List.of("tt2", "tt3"), index.browse(null, "2010", "2010", 0, 10).imdbIds());
+		assertEquals(List.of("tt2"), index.browse(null, "2010-01", "2010-01", 0, 10).imdbIds());
+		assertEquals(List.of("tt1"), index.browse(null, null, "2009", 0, 10).imdbIds());
+	}
+
+	@Test
+	void facetsCountTheMatchingSet() {
+		CatalogIndex.Result r = index.browse(List.of("Action"), null, null, 0, 10);
+		assertEquals(3, r.total());
+		assertEquals(Map.of("Action", 3, "Comedy", 1, "Drama", 1), r.facets());
+	}
+
+	@Test
+	void pagesInCatalogOrderWithTotalOfWholeSet() {
+		CatalogIndex.Result r = index.browse(null, null, null, 1, 2);
+		assertEquals(4, r.total());
+		assertEquals(List.of("tt2", "tt3"), r.imdbIds());
+	}
+
+	@Test
+	void upsertReplacesGenresAndRemoveHidesTheMovie() {
+		index.upsert(movie("tt1", "2001-05-10", "Drama"));
+		assertEquals(List.of("tt1", "tt3", "tt4"), index.browse(List.of("Drama"), null, null, 0, 10).imdbIds());
+
+		index.remove("tt3");
+		CatalogIndex.Result r = index.browse(List.of("Drama"), null, null, 0, 10);
+		assertEquals(2, r.total());
+		assertEquals(List.of("tt1", "tt4"), r.imdbIds());
+	}
+
+	@Test
+	void growsPastInitialCapacity() {
+		for (int i = 0; i < 5000; i++) {
+			index.upsert(movie("bulk" + i, "1999-01-01", "Horror"));
+		}
+		CatalogIndex.Result r = index.browse(List.of("Horror"), null, null, 4999, 10);
+		assertEquals(5000, r.total());
+		assertEquals(List.of("bulk4999"), r.imdbIds());
+	}
+
+	@Test
+	void parsesDates() {
+		assertEquals(20010510, CatalogIndex.parseDate("2001-05-10", false));
+		assertEquals(20010000, CatalogIndex.parseDate("2001", false));
+		assertEquals(20019999, CatalogIndex.parseDate("2001", true));
+		assertEquals(20010599, CatalogIndex.parseDate("2001-05", true));
+		assertEquals(0, CatalogIndex.parseDate("soon", false));
+	}
+
+	static Movie movie(String imdbId, String releaseDate, String... genres) {
+		Movie movie = new Movie();
+		movie.setImdbId(imdbId);
+		movie.setTitle("Title " + imdbId);
+		movie.setReleaseDate(releaseDate);
+		movie.setGenres(List.of(genres));
+		return movie;
+	}
+}
@@ -0,0 +1,67 @@
+package com.example.test.demo.Services.Movie;
+
+import com.example.test.demo.Schema.Movie;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MovieFieldsTests {
+
+	@Test
+	void fieldsWinOverView() {
+		assertEquals(Set.of("imdbId", "title"), MovieFields.resolve("card", "imdbId, title"));
+	}
+
+	@Test
+	void namedViewsAreCaseInsensitive() {
+		assertEquals(Set.of("id", "imdbId", "title", "poster", "reviewCount"), MovieFields.resolve("CARD", null));
+	}
+
+	@Test
+	void nothingSelectedMeansTheWholeDocument() {
+		assertNull(MovieFields.resolve(null, null));
+		assertNull(MovieFields.resolve(" ", " "));
+		assertNull(MovieFields.resolve(null, " , ,"));
+		assertNull(MovieFields.resolve("full", null));
+		assertNull(MovieFields.resolve(null, String.join(",", MovieFields.ALL)));
+	}
+
+	@Test
+	void rejectsUnknownFieldsAndViews() {
+		assertThrows(RuntimeException.class, () -> MovieFields.resolve(null, "imdbId,password"));
+		assertThrows(RuntimeException.class, () -> MovieFields.resolve("tiny", null));
+	}
+
+	@Test
+	void projectIncludesOnlyTheSelection() {
+		assertEquals(new Document("imdbId", 1).append("title", 1),
+				MovieFields.project(new Query(), MovieFields.resolve(null, "imdbId,title")).getFieldsObject());
+		assertTrue(MovieFields.project(new Query(), null).getFieldsObject().isEmpty());
+	}
+
+	@Test
+	void trimKeepsOnlyTheSelection() {
+		ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+		Movie m = new Movie();
+		m.setImdbId("tt1");
+		m.setTitle("Heat");
+		m.setGenres(List.of("Drama"));
+
+		ObjectNode node = (ObjectNode) MovieFields.trim(objectMapper, m, MovieFields.resolve(null, "imdbId,genres"));
+		assertEquals(List.of("imdbId", "genres"), node.properties().stream().map(Map.Entry::getKey).toList());
+		assertEquals("tt1", node.get("imdbId").asText());
+		assertSame(m, MovieFields.trim(objectMapper, m, null));
+	}
+}
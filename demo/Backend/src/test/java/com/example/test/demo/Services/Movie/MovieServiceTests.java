@@ -0,0 +1,108 @@
+package com.example.test.demo.Services.Movie;
+
+import com.example.test.demo.Schema.Movie;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MovieServiceTests {
+
+	private final MovieService movieService = new MovieService();
+
+	private final CatalogIndex catalogIndex = new CatalogIndex();
+
+	private final TitleIndex titleIndex = new TitleIndex();
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+	private final Repo repo = mock(Repo.class);
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(movieService, "catalogIndex", catalogIndex);
+		ReflectionTestUtils.setField(movieService, "titleIndex", titleIndex);
+		ReflectionTestUtils.setField(movieService, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(movieService, "repo", repo);
+		ReflectionTestUtils.setField(movieService, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(movieService, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(movieService, "cacheMaxSize", 100L);
+		ReflectionTestUtils.setField(movieService, "cacheTtl", Duration.ofMinutes(10));
+		ReflectionTestUtils.setField(movieService, "negativeTtl", Duration.ofSeconds(30));
+		ReflectionTestUtils.setField(movieService, "renderedMaxBytes", DataSize.ofMegabytes(1));
+		movieService.initCache();
+	}
+
+	@Test
+	void unknownIdIsCachedAsMissing() {
+		ObjectId id = new ObjectId();
+
+		assertTrue(movieService.findById(id).isEmpty());
+		assertTrue(movieService.findById(id).isEmpty());
+
+		verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(Movie.class));
+		verify(repo, never()).findById(any());
+	}
+
+	@Test
+	void missesExpireOnTheirOwnTtl() {
+		ReflectionTestUtils.setField(movieService, "negativeTtl", Duration.ZERO);
+		movieService.initCache();
+		ObjectId missing = new ObjectId();
+		ObjectId known = new ObjectId();
+		Movie movie = movie("tt1");
+		movie.setId(known);
+		when(mongoTemplate.findOne(argThat((Query q) -> known.equals(q.getQueryObject().get("_id"))), eq(Movie.class))).thenReturn(movie);
+		when(repo.findByImdbId("tt1")).thenReturn(Optional.of(movie));
+
+		movieService.findById(missing);
+		movieService.findById(missing);
+		movieService.findById(known);
+		movieService.findById(known);
+
+		verify(mongoTemplate, times(3)).findOne(any(Query.class), eq(Movie.class));
+	}
+
+	@Test
+	void browseCountsOutMoviesMissingFromTheTitleIndex() {
+		for (String imdbId : List.of("tt1", "tt2", "tt3")) {
+			catalogIndex.upsert(movie(imdbId));
+			titleIndex.upsert(movie(imdbId));
+		}
+		// Mid-write: already in the catalog index, not yet in the title index.
+		catalogIndex.upsert(movie("tt4"));
+
+		BrowseResult result = movieService.browse(List.of("Action"), null, null, 0, 10);
+		assertEquals(3, result.getTotal());
+		assertEquals(List.of("tt1", "tt2", "tt3"), result.getMovies().stream().map(TitleMatch::getImdbId).toList());
+	}
+
+	private static Movie movie(String imdbId) {
+		Movie movie = new Movie();
+		movie.setImdbId(imdbId);
+		movie.setTitle("Title " + imdbId);
+		movie.setReleaseDate("2001-01-01");
+		movie.setGenres(List.of("Action"));
+		return movie;
+	}
+}
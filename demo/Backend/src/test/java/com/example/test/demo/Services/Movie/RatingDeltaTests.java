@@ -0,0 +1,81 @@
+package com.example.test.demo.Services.Movie;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RatingDeltaTests {
+
+	@Test
+	void addAndRemoveOfSameRatingNetToVersionBumpOnly() {
+		List<Document> pipeline = new RatingDelta().added(4).removed(4).pipeline();
+
+		assertEquals(1, pipeline.size());
+		Document set = set(pipeline, 0);
+		assertEquals(List.of("version", "updatedAt"), List.copyOf(set.keySet()));
+		assertEquals(plus("$version", 1), set.get("version"));
+	}
+
+	@Test
+	void unratedReviewCountsButLeavesRatingsAlone() {
+		List<Document> pipeline = new RatingDelta().added(null).added(null).removed(null).pipeline();
+
+		assertEquals(1, pipeline.size());
+		Document set = set(pipeline, 0);
+		assertEquals(plus("$reviewCount", 1), set.get("reviewCount"));
+		assertFalse(set.keySet().stream().anyMatch(k -> k.startsWith("ratings")));
+	}
+
+	@Test
+	void differentRatingsStillChangeTheAggregate() {
+		List<Document> pipeline = new RatingDelta().added(5).removed(3).pipeline();
+
+		Document set = set(pipeline, 0);
+		assertNull(set.get("reviewCount"));
+		assertEquals(plus("$ratings.count", 0), set.get("ratings.count"));
+		assertEquals(plus("$ratings.sum", 2), set.get("ratings.sum"));
+		assertEquals(plus("$ratings.histogram.5", 1), set.get("ratings.histogram.5"));
+		assertEquals(plus("$ratings.histogram.3", -1), set.get("ratings.histogram.3"));
+		assertFalse(set.containsKey("ratings.histogram.4"));
+
+		// The average is recomputed in a second stage, from the totals the first one wrote.
+		assertEquals(2, pipeline.size());
+		assertTrue(set(pipeline, 1).containsKey("ratings.average"));
+	}
+
+	@Test
+	void batchOfMixedReviews() {
+		RatingDelta delta = new RatingDelta();
+		delta.added(5).added(5).added(1).added(null);
+
+		Document set = set(delta.pipeline(), 0);
+		assertEquals(plus("$reviewCount", 4), set.get("reviewCount"));
+		assertEquals(plus("$ratings.count", 3), set.get("ratings.count"));
+		assertEquals(plus("$ratings.sum", 11), set.get("ratings.sum"));
+		assertEquals(plus("$ratings.histogram.5", 2), set.get("ratings.histogram.5"));
+		assertEquals(plus("$ratings.histogram.1", 1), set.get("ratings.histogram.1"));
+	}
+
+	@Test
+	void outOfRangeRatingsAreNotValid() {
+		assertTrue(RatingDelta.valid(RatingDelta.MIN_STARS));
+		assertTrue(RatingDelta.valid(RatingDelta.MAX_STARS));
+		assertFalse(RatingDelta.valid(0));
+		assertFalse(RatingDelta.valid(6));
+		assertFalse(RatingDelta.valid(null));
+	}
+
+	private static Document set(List<Document> pipeline, int stage) {
+		return pipeline.get(stage).get("$set", Document.class);
+	}
+
+	private static Document plus(String field, long delta) {
+		return new Document("$add", List.of(new Document("$ifNull", List.of(field, 0L)), delta));
+	}
+}
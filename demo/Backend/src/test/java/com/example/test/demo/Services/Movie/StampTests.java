@@ -0,0 +1,111 @@
+package com.example.test.demo.Services.Movie;
+
+import com.example.test.demo.Schema.Movie;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StampTests {
+
+	private final MovieService movieService = new MovieService();
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+	private final Repo repo = mock(Repo.class);
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(movieService, "catalogIndex", new CatalogIndex());
+		ReflectionTestUtils.setField(movieService, "titleIndex", new TitleIndex());
+		ReflectionTestUtils.setField(movieService, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(movieService, "repo", repo);
+		ReflectionTestUtils.setField(movieService, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(movieService, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(movieService, "cacheMaxSize", 100L);
+		ReflectionTestUtils.setField(movieService, "cacheTtl", Duration.ofMinutes(10));
+		ReflectionTestUtils.setField(movieService, "renderedMaxBytes", DataSize.ofMegabytes(1));
+		movieService.initCache();
+	}
+
+	@Test
+	void takesVersionAndLastModifiedFromTheMovie() {
+		LocalDateTime updatedAt = LocalDateTime.of(2024, 3, 1, 12, 30);
+		Movie m = movie("tt1", 7L);
+		m.setUpdatedAt(updatedAt);
+
+		MovieService.Stamp stamp = MovieService.Stamp.of(m);
+		assertEquals(new MovieService.Stamp("tt1", 7, updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()), stamp);
+	}
+
+	@Test
+	void moviesNeverWrittenGetVersionZeroAndNoLastModified() {
+		MovieService.Stamp stamp = MovieService.Stamp.of(movie("tt1", null));
+		assertEquals(0, stamp.version());
+		assertEquals(-1, stamp.lastModified());
+		assertEquals("\"tt1-v0\"", stamp.etag());
+	}
+
+	@Test
+	void eachRepresentationHasItsOwnStrongEtag() {
+		MovieService.Stamp stamp = new MovieService.Stamp("tt1", 3, 0);
+		assertEquals("\"tt1-v3\"", stamp.etag());
+		assertEquals("\"tt1-v3-gz\"", stamp.gzipEtag());
+		assertEquals("\"tt1-v3-reviews\"", stamp.reviewsEtag());
+	}
+
+	@Test
+	void etagChangesWithTheVersion() {
+		assertNotEquals(new MovieService.Stamp("tt1", 3, 0).etag(), new MovieService.Stamp("tt1", 4, 0).etag());
+		assertNotEquals(new MovieService.Stamp("tt1", 3, 0).etag(), new MovieService.Stamp("tt2", 3, 0).etag());
+	}
+
+	@Test
+	void stampOfACachedMovieSkipsMongo() {
+		when(repo.findByImdbId("tt1")).thenReturn(Optional.of(movie("tt1", 5L)));
+		movieService.findByImdb("tt1");
+
+		assertEquals("\"tt1-v5\"", movieService.stamp("tt1").orElseThrow().etag());
+		verify(mongoTemplate, never()).findOne(any(Query.class), eq(Movie.class));
+	}
+
+	@Test
+	void stampOfAnUncachedMovieReadsOnlyTheStampFields() {
+		when(mongoTemplate.findOne(any(Query.class), eq(Movie.class))).thenReturn(movie("tt1", 2L));
+
+		assertEquals("\"tt1-v2\"", movieService.stamp("tt1").orElseThrow().etag());
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).findOne(query.capture(), eq(Movie.class));
+		assertEquals(Document.parse("{imdbId: 1, version: 1, updatedAt: 1}"), query.getValue().getFieldsObject());
+		verify(repo, never()).findByImdbId(any());
+	}
+
+	private static Movie movie(String imdbId, Long version) {
+		Movie movie = new Movie();
+		movie.setImdbId(imdbId);
+		movie.setTitle("Title " + imdbId);
+		movie.setVersion(version);
+		return movie;
+	}
+}
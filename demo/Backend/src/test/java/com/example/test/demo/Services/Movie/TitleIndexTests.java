@@ -0,0 +1,86 @@
+package com.example.test.demo.Services.Movie;
+
+import com.example.test.demo.Schema.Movie;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TitleIndexTests {
+
+	private final TitleIndex index = new TitleIndex();
+
+	private final ObjectId amelieId = new ObjectId();
+
+	@BeforeEach
+	void setUp() {
+		index.upsert(movie("tt1", "The Dark Knight"));
+		index.upsert(movie("tt2", "Dark City"));
+		index.upsert(movie("tt3", "Knight and Day"));
+		index.upsert(movie("tt4", "The Dark Knight Rises"));
+		Movie amelie = movie("tt5", "Amélie");
+		amelie.setId(amelieId);
+		index.upsert(amelie);
+	}
+
+	@Test
+	void ranksWholePrefixThenFirstWordThenAnyMatch() {
+		assertEquals(List.of("tt2", "tt1", "tt4"), ids(index.search("dark", 10)));
+		assertEquals(List.of("tt3", "tt1", "tt4"), ids(index.search("knight", 10)));
+	}
+
+	@Test
+	void everyTermMustPrefixSomeWord() {
+		assertEquals(List.of("tt1", "tt4"), ids(index.search("kni dar", 10)));
+		assertEquals(List.of("tt4"), ids(index.search("dark ris", 10)));
+		assertEquals(List.of(), ids(index.search("dark day", 10)));
+	}
+
+	@Test
+	void keepsOnlyTopK() {
+		assertEquals(List.of("tt2"), ids(index.search("dark", 1)));
+		assertEquals(List.of(), ids(index.search("dark", 0)));
+		assertEquals(List.of(), ids(index.search("  ", 10)));
+	}
+
+	@Test
+	void ignoresCaseAndAccents() {
+		assertEquals(List.of("tt5"), ids(index.search("AMELIE", 10)));
+		assertEquals(List.of("tt5"), ids(index.search("amél", 10)));
+	}
+
+	@Test
+	void upsertReplacesTheOldTitle() {
+		index.upsert(movie("tt2", "Metropolis"));
+		assertEquals(List.of("tt1", "tt4"), ids(index.search("dark", 10)));
+		assertEquals(List.of("tt2"), ids(index.search("metro", 10)));
+		assertEquals("Metropolis", index.get("tt2").getTitle());
+	}
+
+	@Test
+	void removeDropsTheMovie() {
+		index.remove("tt1");
+		assertNull(index.get("tt1"));
+		assertEquals(List.of("tt2", "tt4"), ids(index.search("dark", 10)));
+
+		assertEquals(Optional.of("tt5"), index.removeById(amelieId));
+		assertEquals(List.of(), ids(index.search("amelie", 10)));
+		assertEquals(3, index.size());
+	}
+
+	private static Movie movie(String imdbId, String title) {
+		Movie movie = new Movie();
+		movie.setImdbId(imdbId);
+		movie.setTitle(title);
+		return movie;
+	}
+
+	private static List<String> ids(List<TitleMatch> matches) {
+		return matches.stream().map(TitleMatch::getImdbId).toList();
+	}
+}
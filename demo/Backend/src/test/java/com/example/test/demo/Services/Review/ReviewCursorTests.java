@@ -0,0 +1,69 @@
+package com.example.test.demo.Services.Review;
+
+import com.example.test.demo.Schema.Review;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReviewCursorTests {
+
+	@Test
+	void roundTripsCreatedAtAndId() {
+		ObjectId id = new ObjectId();
+		LocalDateTime createdAt = LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_789);
+
+		ReviewCursor decoded = ReviewCursor.decode(new ReviewCursor(createdAt, id).encode());
+
+		assertEquals(createdAt, decoded.getCreatedAt());
+		assertEquals(id, decoded.getId());
+	}
+
+	@Test
+	void tokenIsUrlSafeWithoutPadding() {
+		String token = new ReviewCursor(LocalDateTime.of(2024, 1, 1, 0, 0), new ObjectId()).encode();
+		assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+	}
+
+	@Test
+	void rejectsMalformedTokens() {
+		for (String token : List.of("", "not base64!", b64("no separator"), b64("yesterday|" + new ObjectId().toHexString()),
+				b64("2024-01-01T00:00|not-an-id"))) {
+			RuntimeException e = assertThrows(RuntimeException.class, () -> ReviewCursor.decode(token), token);
+			assertEquals("Invalid cursor", e.getMessage());
+		}
+	}
+
+	@Test
+	void pageCarriesCursorOnlyWhenMoreRemain() {
+		List<Review> reviews = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Review r = new Review("body", new ObjectId(), "Jane", "tt1");
+			r.setId(new ObjectId());
+			r.setCreatedAt(LocalDateTime.of(2024, 1, 3 - i, 0, 0));
+			reviews.add(r);
+		}
+
+		// One extra row is read to learn whether another page exists.
+		ReviewPage page = ReviewService.toPage(reviews, 2);
+		assertEquals(2, page.getReviews().size());
+		ReviewCursor next = ReviewCursor.decode(page.getNext());
+		assertEquals(reviews.get(1).getId(), next.getId());
+		assertEquals(reviews.get(1).getCreatedAt(), next.getCreatedAt());
+
+		assertNull(ReviewService.toPage(reviews, 3).getNext());
+	}
+
+	private static String b64(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,138 @@
+package com.example.test.demo.Services.Review;
+
+import com.example.test.demo.Schema.Movie;
+import com.example.test.demo.Schema.Review;
+import com.example.test.demo.Services.Movie.MovieService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReviewIngestorTests {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+	private final MovieService movieService = mock(MovieService.class);
+
+	private final ReviewIngestor ingestor = new ReviewIngestor();
+
+	@AfterEach
+	void tearDown() throws Exception {
+		ingestor.stop();
+	}
+
+	@Test
+	void savedReviewsSucceedEvenWhenTheRatingUpdateFails() throws Exception {
+		when(mongoTemplate.find(any(Query.class), eq(Movie.class))).thenReturn(List.of(movie()));
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Review.class))
+				.thenReturn(mock(BulkOperations.class, RETURNS_SELF));
+		doThrow(new RuntimeException("movie update failed")).when(movieService).reviewed(anyMap());
+		start();
+
+		Review review = review();
+		assertSame(review, ingestor.submit(review).get(5, TimeUnit.SECONDS));
+		verify(movieService, timeout(5000)).reviewed(anyMap());
+	}
+
+	@Test
+	void anErrorFailsItsBatchButNotTheWriter() throws Exception {
+		when(mongoTemplate.find(any(Query.class), eq(Movie.class)))
+				.thenThrow(new StackOverflowError())
+				.thenReturn(List.of());
+		start();
+
+		ExecutionException e = assertThrows(ExecutionException.class, () -> ingestor.submit(review()).get(5, TimeUnit.SECONDS));
+		assertInstanceOf(StackOverflowError.class, e.getCause());
+
+		// The writer is still there to take the next batch.
+		e = assertThrows(ExecutionException.class, () -> ingestor.submit(review()).get(5, TimeUnit.SECONDS));
+		assertEquals("Movie with given imdbId not found.", e.getCause().getMessage());
+	}
+
+	@Test
+	void stopFailsReviewsStillQueuedBehindAStuckBatch() throws Exception {
+		CountDownLatch inFlush = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(mongoTemplate.find(any(Query.class), eq(Movie.class))).thenAnswer(inv -> {
+			inFlush.countDown();
+			// Ignores the shutdown interrupt, like a driver call that does not respond to it.
+			while (release.getCount() > 0) {
+				try {
+					release.await();
+				} catch (InterruptedException ignored) {
+					// keep waiting
+				}
+			}
+			return List.of();
+		});
+
+		ingestor.stopTimeout = Duration.ofMillis(200);
+		start();
+
+		CompletableFuture<Review> inFlight = ingestor.submit(review());
+		assertTrue(inFlush.await(5, TimeUnit.SECONDS));
+		CompletableFuture<Review> queued1 = ingestor.submit(review());
+		CompletableFuture<Review> queued2 = ingestor.submit(review());
+
+		ingestor.stop();
+
+		for (CompletableFuture<Review> queued : List.of(queued1, queued2)) {
+			ExecutionException e = assertThrows(ExecutionException.class, () -> queued.get(1, TimeUnit.SECONDS));
+			assertInstanceOf(RejectedExecutionException.class, e.getCause());
+		}
+		assertFalse(inFlight.isDone());
+		assertThrows(RejectedExecutionException.class, () -> ingestor.submit(review()));
+
+		release.countDown();
+		assertThrows(ExecutionException.class, () -> inFlight.get(5, TimeUnit.SECONDS));
+	}
+
+	private void start() {
+		ReflectionTestUtils.setField(ingestor, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(ingestor, "movieService", movieService);
+		ReflectionTestUtils.setField(ingestor, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(ingestor, "enabled", true);
+		ReflectionTestUtils.setField(ingestor, "queueCapacity", 10);
+		ReflectionTestUtils.setField(ingestor, "batchSize", 1);
+		ReflectionTestUtils.setField(ingestor, "window", Duration.ofMillis(1));
+		ingestor.start();
+	}
+
+	private static Movie movie() {
+		Movie movie = new Movie();
+		movie.setImdbId("tt0000001");
+		return movie;
+	}
+
+	private static Review review() {
+		return new Review("body", new ObjectId(), "Jane", "tt0000001");
+	}
+}
@@ -0,0 +1,162 @@
+package com.example.test.demo.Services.Review;
+
+import com.example.test.demo.Schema.Review;
+import com.example.test.demo.Services.Movie.MovieService;
+import com.example.test.demo.Services.Movie.RatingDelta;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReviewModerationTests {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+	private final MovieService movieService = mock(MovieService.class);
+
+	private final ReviewModeration moderation = new ReviewModeration();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(moderation, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(moderation, "movieService", movieService);
+		ReflectionTestUtils.setField(moderation, "batchSize", 2);
+		when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Review.class)))
+				.thenReturn(UpdateResult.acknowledged(0, 0L, null));
+	}
+
+	@Test
+	void appliesDeltasOnlyForClaimedReviews() {
+		Review a = review("tt1", 5);
+		Review b = review("tt1", 3);
+		Review c = review("tt2", null);
+		when(mongoTemplate.stream(any(Query.class), eq(Review.class))).thenReturn(Stream.of(a, b, c));
+		// b was deleted by someone else before the first claim, so only a comes back as claimed.
+		when(mongoTemplate.find(any(Query.class), eq(Review.class))).thenReturn(List.of(a), List.of(c));
+		when(mongoTemplate.remove(any(Query.class), eq(Review.class))).thenReturn(DeleteResult.acknowledged(1));
+
+		ModerationReport report = moderation.deleteByUser(new ObjectId());
+
+		assertEquals(3, report.getMatched());
+		assertEquals(2, report.getDeleted());
+		assertEquals(1, report.getRaced());
+		assertEquals(2, report.getBatches());
+		assertEquals(2, report.getMovies());
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Map<String, RatingDelta>> deltas = ArgumentCaptor.forClass(Map.class);
+		verify(movieService).reviewed(deltas.capture());
+		assertEquals(Set.of("tt1", "tt2"), deltas.getValue().keySet());
+	}
+
+	@Test
+	void moviesAreUpdatedOncePerRunAcrossBatches() {
+		Review a = review("tt1", 5);
+		Review b = review("tt1", 3);
+		Review c = review("tt1", 1);
+		Review d = review("tt2", 4);
+		when(mongoTemplate.stream(any(Query.class), eq(Review.class))).thenReturn(Stream.of(a, b, c, d));
+		when(mongoTemplate.find(any(Query.class), eq(Review.class))).thenReturn(List.of(a, b), List.of(c, d));
+		when(mongoTemplate.remove(any(Query.class), eq(Review.class))).thenReturn(DeleteResult.acknowledged(2));
+
+		ModerationReport report = moderation.deleteByUser(new ObjectId());
+		assertEquals(2, report.getBatches());
+		assertEquals(2, report.getMovies());
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Map<String, RatingDelta>> deltas = ArgumentCaptor.forClass(Map.class);
+		verify(movieService, times(1)).reviewed(deltas.capture());
+		assertEquals(Set.of("tt1", "tt2"), deltas.getValue().keySet());
+	}
+
+	@Test
+	void aFailedRunStillUpdatesMoviesForWhatItRemoved() {
+		Review a = review("tt1", 5);
+		Review b = review("tt1", 3);
+		Review c = review("tt2", 4);
+		when(mongoTemplate.stream(any(Query.class), eq(Review.class))).thenReturn(Stream.of(a, b, c));
+		when(mongoTemplate.find(any(Query.class), eq(Review.class))).thenReturn(List.of(a, b));
+		when(mongoTemplate.remove(any(Query.class), eq(Review.class)))
+				.thenReturn(DeleteResult.acknowledged(2))
+				.thenThrow(new RuntimeException("connection reset"));
+
+		assertThrows(RuntimeException.class, () -> moderation.deleteByUser(new ObjectId()));
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Map<String, RatingDelta>> deltas = ArgumentCaptor.forClass(Map.class);
+		verify(movieService).reviewed(deltas.capture());
+		assertEquals(Set.of("tt1"), deltas.getValue().keySet());
+	}
+
+	@Test
+	void nothingClaimedMeansNoAggregateChange() {
+		when(mongoTemplate.stream(any(Query.class), eq(Review.class))).thenReturn(Stream.of(review("tt1", 4)));
+		when(mongoTemplate.find(any(Query.class), eq(Review.class))).thenReturn(List.of());
+		when(mongoTemplate.remove(any(Query.class), eq(Review.class))).thenReturn(DeleteResult.acknowledged(0));
+
+		ModerationReport report = moderation.deleteByMovie("tt1");
+
+		assertEquals(0, report.getDeleted());
+		assertEquals(1, report.getRaced());
+		assertEquals(0, report.getMovies());
+		verify(movieService, never()).reviewed(anyMap());
+	}
+
+	@Test
+	void claimAndSingleDeleteSkipLiveClaims() {
+		when(mongoTemplate.stream(any(Query.class), eq(Review.class))).thenReturn(Stream.of(review("tt1", 4)));
+		when(mongoTemplate.find(any(Query.class), eq(Review.class))).thenReturn(List.of());
+		when(mongoTemplate.remove(any(Query.class), eq(Review.class))).thenReturn(DeleteResult.acknowledged(0));
+
+		moderation.deleteByIds(List.of(new ObjectId()));
+
+		ArgumentCaptor<Query> claim = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).updateMulti(claim.capture(), any(Update.class), eq(Review.class));
+		assertTrue(claim.getValue().getQueryObject().toJson().contains(ReviewModeration.CLAIM));
+
+		Document single = ReviewService.deleteQuery(new ObjectId()).getQueryObject();
+		assertTrue(single.toJson().contains(ReviewModeration.CLAIM));
+	}
+
+	@Test
+	void staleClaimsCountAsUnclaimed() {
+		Date now = new Date();
+		Document filter = ReviewModeration.unclaimed(now).getCriteriaObject();
+		List<?> or = filter.getList("$or", Object.class);
+		Document stale = (Document) or.get(1);
+		Date cutoff = stale.get(ReviewModeration.CLAIM + ".at", Document.class).getDate("$lt");
+		assertEquals(now.getTime() - ReviewModeration.CLAIM_TTL.toMillis(), cutoff.getTime());
+	}
+
+	private static Review review(String imdbId, Integer rating) {
+		Review review = new Review("body", new ObjectId(), "name", imdbId);
+		review.setId(new ObjectId());
+		review.setRating(rating);
+		return review;
+	}
+}
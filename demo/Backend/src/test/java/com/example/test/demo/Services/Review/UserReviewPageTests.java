@@ -0,0 +1,70 @@
+package com.example.test.demo.Services.Review;
+
+import com.example.test.demo.Schema.Movie;
+import com.example.test.demo.Schema.Review;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserReviewPageTests {
+
+	@Test
+	void joinsEachReviewToItsMovieCardInOrder() {
+		Review first = review("tt2", 4);
+		Review second = review("tt1", 5);
+		Review third = review("tt2", 3);
+
+		UserReviewPage page = UserReviewPage.of(new ReviewPage(List.of(first, second, third), "next-token"),
+				Map.of("tt1", movie("tt1", "Heat"), "tt2", movie("tt2", "Alien")));
+
+		assertEquals("next-token", page.getNext());
+		assertEquals(List.of("Alien", "Heat", "Alien"), page.getReviews().stream().map(UserReview::getTitle).toList());
+
+		UserReview r = page.getReviews().get(1);
+		assertEquals(second.getId(), r.getId());
+		assertEquals("tt1", r.getImdbId());
+		assertEquals(5, r.getRating());
+		assertEquals(second.getBody(), r.getBody());
+		assertEquals(second.getCreatedAt(), r.getCreatedAt());
+		assertEquals("tt1.jpg", r.getPoster());
+	}
+
+	@Test
+	void reviewsOfRemovedMoviesKeepNoCard() {
+		UserReviewPage page = UserReviewPage.of(new ReviewPage(List.of(review("tt9", 2)), null), Map.of());
+
+		UserReview r = page.getReviews().get(0);
+		assertEquals("tt9", r.getImdbId());
+		assertNull(r.getTitle());
+		assertNull(r.getPoster());
+		assertNull(page.getNext());
+	}
+
+	@Test
+	void emptyPageStaysEmpty() {
+		assertTrue(UserReviewPage.of(new ReviewPage(List.of(), null), Map.of()).getReviews().isEmpty());
+	}
+
+	private static Review review(String imdbId, int rating) {
+		Review r = new Review("Review of " + imdbId, new ObjectId(), "Jane", imdbId);
+		r.setId(new ObjectId());
+		r.setRating(rating);
+		r.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+		return r;
+	}
+
+	private static Movie movie(String imdbId, String title) {
+		Movie m = new Movie();
+		m.setImdbId(imdbId);
+		m.setTitle(title);
+		m.setPoster(imdbId + ".jpg");
+		return m;
+	}
+}
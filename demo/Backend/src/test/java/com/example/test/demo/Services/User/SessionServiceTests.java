@@ -0,0 +1,98 @@
+package com.example.test.demo.Services.User;
+
+import com.example.test.demo.Schema.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseCookie;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SessionServiceTests {
+
+	private final UserRepo userRepo = mock(UserRepo.class);
+
+	private final SessionService sessions = new SessionService();
+
+	private User user;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		ReflectionTestUtils.setField(sessions, "userRepo", userRepo);
+		ReflectionTestUtils.setField(sessions, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(sessions, "secret", "test-secret-test-secret-test-secret");
+		ReflectionTestUtils.setField(sessions, "ttl", Duration.ofDays(7));
+		ReflectionTestUtils.setField(sessions, "usersMaxSize", 100L);
+		ReflectionTestUtils.setField(sessions, "usersTtl", Duration.ofMinutes(1));
+		sessions.init();
+
+		user = new User("Jane Doe", "9999999999", "jane@example.com", "x");
+		user.setId(new ObjectId());
+		when(userRepo.findById(user.getId())).thenReturn(Optional.of(user));
+	}
+
+	@Test
+	void currentUserAfterLoginNeedsNoLookup() {
+		MockHttpServletResponse res = new MockHttpServletResponse();
+		sessions.start(new MockHttpServletRequest(), res, user);
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(Optional.of(user), sessions.currentUser(withCookie(res)));
+		}
+		verify(userRepo, never()).findById(user.getId());
+	}
+
+	@Test
+	void evictedUserIsLoadedOnce() {
+		MockHttpServletResponse res = new MockHttpServletResponse();
+		sessions.start(new MockHttpServletRequest(), res, user);
+		sessions.evictUser(user.getId());
+
+		sessions.currentUser(withCookie(res));
+		sessions.currentUser(withCookie(res));
+		verify(userRepo, times(1)).findById(user.getId());
+	}
+
+	@Test
+	void noSessionNoUser() {
+		assertTrue(sessions.currentUser(new MockHttpServletRequest()).isEmpty());
+	}
+
+	@Test
+	void reactiveStartIssuesASessionThatEndRevokes() {
+		MockServerHttpResponse res = new MockServerHttpResponse();
+		sessions.start(res, user);
+
+		ResponseCookie cookie = res.getCookies().getFirst(SessionService.COOKIE);
+		assertTrue(cookie.isHttpOnly());
+		assertEquals(Optional.of(user), sessions.verify(cookie.getValue()).flatMap(sessions::cachedUser));
+
+		MockServerHttpResponse out = new MockServerHttpResponse();
+		sessions.end(cookie.getValue(), out);
+		assertTrue(sessions.verify(cookie.getValue()).isEmpty());
+		assertEquals(Duration.ZERO, out.getCookies().getFirst(SessionService.COOKIE).getMaxAge());
+		assertEquals(Duration.ZERO, out.getCookies().getFirst("user_id").getMaxAge());
+	}
+
+	private static MockHttpServletRequest withCookie(MockHttpServletResponse res) {
+		MockHttpServletRequest req = new MockHttpServletRequest();
+		Cookie session = res.getCookie(SessionService.COOKIE);
+		req.setCookies(session);
+		return req;
+	}
+}
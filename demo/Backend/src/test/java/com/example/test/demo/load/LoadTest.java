@@ -0,0 +1,258 @@
+package com.example.test.demo.load;
+
+import com.example.test.demo.Schema.Movie;
+import com.example.test.demo.Schema.Review;
+import com.example.test.demo.Schema.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.example.test.demo.Utility.Util.hashPassword;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load harness: boots the app on a random port against a Testcontainers Mongo, seeds a
+ * catalog with skewed review counts, drives a weighted request mix from closed-loop clients and
+ * reports throughput and p50/p99/p999 per endpoint (console and target/load-report.json).
+ *
+ * Excluded from the normal build; run with ./mvnw -Pload test and tune with -Dload.* properties:
+ * movies, reviews, users, concurrency, warmup, duration (seconds), skew and mix
+ * (e.g. -Dload.mix=movies=25,imdb=35,reviews=30,post=5,login=5).
+ */
+@Tag("load")
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {"spring.data.mongodb.database=cinemate_load", "cinemate.admission.enabled=false",
+				"cinemate.warmup.enabled=false"})
+class LoadTest {
+
+	@Container
+	@ServiceConnection
+	static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+	private static final String PASSWORD = "load-test-password";
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	private final ObjectMapper json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+	private final HttpClient http = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+
+	private List<String> imdbIds;
+
+	private double skew;
+
+	@Test
+	void run() throws Exception {
+		int movies = Integer.getInteger("load.movies", 5_000);
+		int reviews = Integer.getInteger("load.reviews", 50_000);
+		int users = Integer.getInteger("load.users", 200);
+		int concurrency = Integer.getInteger("load.concurrency", 64);
+		int warmup = Integer.getInteger("load.warmup", 10);
+		int duration = Integer.getInteger("load.duration", 30);
+		skew = Double.parseDouble(System.getProperty("load.skew", "3.0"));
+		Map<String, Integer> mix = parseMix(System.getProperty("load.mix", "movies=25,imdb=35,reviews=30,post=5,login=5"));
+
+		seed(movies, reviews, users);
+
+		drive(concurrency, users, mix, warmup);
+		Map<String, Stats> stats = drive(concurrency, users, mix, duration);
+
+		report(stats, duration);
+		assertTrue(stats.values().stream().mapToLong(s -> s.histogram.getTotalCount()).sum() > 0);
+	}
+
+	private void seed(int movies, int reviews, int users) {
+		imdbIds = new ArrayList<>(movies);
+		List<Movie> batch = new ArrayList<>();
+		for (int i = 0; i < movies; i++) {
+			String imdbId = String.format("tt%07d", i);
+			imdbIds.add(imdbId);
+			Movie m = new Movie();
+			m.setImdbId(imdbId);
+			m.setTitle("Load Test Movie " + i);
+			m.setReleaseDate("2020-01-01");
+			m.setPoster("https://example.com/" + imdbId + ".jpg");
+			m.setGenres(List.of("Drama"));
+			batch.add(m);
+			if (batch.size() == 1_000) {
+				mongoTemplate.insert(batch, Movie.class);
+				batch.clear();
+			}
+		}
+		mongoTemplate.insert(batch, Movie.class);
+
+		List<Review> reviewBatch = new ArrayList<>();
+		for (int i = 0; i < reviews; i++) {
+			reviewBatch.add(new Review("Seeded review " + i, new ObjectId(), "Seeder", hotMovie()));
+			if (reviewBatch.size() == 1_000) {
+				mongoTemplate.insert(reviewBatch, Review.class);
+				reviewBatch.clear();
+			}
+		}
+		mongoTemplate.insert(reviewBatch, Review.class);
+
+		String hashed = hashPassword(PASSWORD);
+		List<User> userBatch = new ArrayList<>();
+		for (int i = 0; i < users; i++) {
+			userBatch.add(new User("Load User " + i, String.format("9%09d", i), "user" + i + "@load.test", hashed));
+		}
+		mongoTemplate.insert(userBatch, User.class);
+	}
+
+	// Power-law pick: a few titles get most of the traffic and reviews, like a real catalog.
+	private String hotMovie() {
+		double r = ThreadLocalRandom.current().nextDouble();
+		return imdbIds.get((int) (imdbIds.size() * Math.pow(r, skew)));
+	}
+
+	private Map<String, Stats> drive(int concurrency, int users, Map<String, Integer> mix, int seconds) throws Exception {
+		Map<String, Stats> stats = new LinkedHashMap<>();
+		mix.keySet().forEach(k -> stats.put(k, new Stats()));
+		int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+		long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+		try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int w = 0; w < concurrency; w++) {
+				String email = "user" + (w % users) + "@load.test";
+				workers.submit(() -> {
+					String cookie = login(email).headers().firstValue("set-cookie").map(c -> c.split(";", 2)[0]).orElse("");
+					while (System.nanoTime() < deadline) {
+						String op = pick(mix, totalWeight);
+						long start = System.nanoTime();
+						int status;
+						try {
+							status = call(op, email, cookie);
+						} catch (Exception e) {
+							status = -1;
+						}
+						Stats s = stats.get(op);
+						s.histogram.recordValue(Math.max(1, (System.nanoTime() - start) / 1_000));
+						if (status < 200 || status >= 400) {
+							s.errors.increment();
+						}
+					}
+					return null;
+				});
+			}
+		}
+		return stats;
+	}
+
+	private int call(String op, String email, String cookie) throws Exception {
+		return switch (op) {
+			case "movies" -> get("/api/movies/?limit=50").statusCode();
+			case "imdb" -> get("/api/movies/imdb/" + hotMovie()).statusCode();
+			case "reviews" -> get("/api/review/viewreview?size=20&imdbId=" + hotMovie()).statusCode();
+			case "post" -> post("/api/review/", Map.of("imdbId", hotMovie(), "body", "Load test review"), cookie).statusCode();
+			case "login" -> login(email).statusCode();
+			default -> throw new IllegalArgumentException("Unknown load op " + op);
+		};
+	}
+
+	private HttpResponse<byte[]> login(String email) throws Exception {
+		return post("/api/user/login", Map.of("userId", email, "password", PASSWORD), null);
+	}
+
+	private HttpResponse<byte[]> get(String path) throws Exception {
+		HttpRequest req = HttpRequest.newBuilder(uri(path)).GET().build();
+		return http.send(req, HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+	private HttpResponse<byte[]> post(String path, Map<String, String> body, String cookie) throws Exception {
+		HttpRequest.Builder req = HttpRequest.newBuilder(uri(path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body)));
+		if (cookie != null && !cookie.isEmpty()) {
+			req.header("Cookie", cookie);
+		}
+		return http.send(req.build(), HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+
+	private static String pick(Map<String, Integer> mix, int totalWeight) {
+		int r = ThreadLocalRandom.current().nextInt(totalWeight);
+		for (Map.Entry<String, Integer> e : mix.entrySet()) {
+			r -= e.getValue();
+			if (r < 0) {
+				return e.getKey();
+			}
+		}
+		throw new IllegalStateException();
+	}
+
+	private static Map<String, Integer> parseMix(String spec) {
+		Map<String, Integer> mix = new LinkedHashMap<>();
+		for (String part : spec.split(",")) {
+			String[] kv = part.trim().split("=");
+			int weight = Integer.parseInt(kv[1].trim());
+			if (weight > 0) {
+				mix.put(kv[0].trim(), weight);
+			}
+		}
+		return mix;
+	}
+
+	private void report(Map<String, Stats> stats, int seconds) throws Exception {
+		Map<String, Object> out = new LinkedHashMap<>();
+		System.out.printf("%n%-10s %10s %8s %10s %10s %10s %10s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms");
+		for (Map.Entry<String, Stats> e : stats.entrySet()) {
+			Histogram h = e.getValue().histogram;
+			long count = h.getTotalCount();
+			double rps = (double) count / seconds;
+			double p50 = h.getValueAtPercentile(50) / 1000.0;
+			double p99 = h.getValueAtPercentile(99) / 1000.0;
+			double p999 = h.getValueAtPercentile(99.9) / 1000.0;
+			long errors = e.getValue().errors.sum();
+
+			System.out.printf("%-10s %10d %8d %10.1f %10.2f %10.2f %10.2f%n", e.getKey(), count, errors, rps, p50, p99, p999);
+			out.put(e.getKey(), Map.of("requests", count, "errors", errors, "throughput", rps,
+					"p50Ms", p50, "p99Ms", p99, "p999Ms", p999));
+		}
+		File target = new File("target");
+		target.mkdirs();
+		json.writeValue(new File(target, "load-report.json"), out);
+	}
+
+	private static class Stats {
+		final Histogram histogram = new ConcurrentHistogram(3);
+		final LongAdder errors = new LongAdder();
+	}
+}
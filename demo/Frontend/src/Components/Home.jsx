@@ -24,8 +24,21 @@ const Home = () => {
 
 	const fetchFeaturedMovies = async () => {
 		try {
-			const response = await fetch("http://localhost:8080/api/movies/");
-			const data = await response.json();
+			// The catalog is paged; follow X-Next-Cursor until the last page.
+			const data = [];
+			let after = null;
+			do {
+				const params = new URLSearchParams({
+					limit: "500",
+					fields: "id,imdbId,title,poster,genres",
+				});
+				if (after) params.set("after", after);
+				const response = await fetch(
+					`http://localhost:8080/api/movies/?${params}`
+				);
+				data.push(...(await response.json()));
+				after = response.headers.get("X-Next-Cursor");
+			} while (after);
 			setFeaturedMovies(data);
 			console.log("Featured Movies:", data);
 		} catch (error) {
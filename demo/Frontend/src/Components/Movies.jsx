@@ -30,16 +30,27 @@ const Movies = () => {
 		const fetchMovies = async () => {
 			try {
 				setLoading(true);
-				const response = await fetch(
-					"http://localhost:8080/api/movies/"
-				);
+				// The catalog is paged; follow X-Next-Cursor until the last page.
+				const all = [];
+				let after = null;
+				do {
+					const params = new URLSearchParams({
+						limit: "500",
+						fields: "id,imdbId,title,poster,genres,releaseDate,reviewCount",
+					});
+					if (after) params.set("after", after);
+					const response = await fetch(
+						`http://localhost:8080/api/movies/?${params}`
+					);
 
-				if (!response.ok) {
-					throw new Error("Failed to fetch movies");
-				}
+					if (!response.ok) {
+						throw new Error("Failed to fetch movies");
+					}
 
-				const data = await response.json();
-				setMovies(data);
+					all.push(...(await response.json()));
+					after = response.headers.get("X-Next-Cursor");
+				} while (after);
+				setMovies(all);
 			} catch (err) {
 				setError(err.message);
 				console.error("Error fetching movies:", err);
@@ -382,9 +393,8 @@ const Movies = () => {
 												<path d="M9.049 2.927c.3-.921 1.603-.921 1.902 0l1.07 3.292a1 1 0 00.95.69h3.462c.969 0 1.371 1.24.588 1.81l-2.8 2.034a1 1 0 00-.364 1.118l1.07 3.292c.3.921-.755 1.688-1.54 1.118l-2.8-2.034a1 1 0 00-1.175 0l-2.8 2.034c-.784.57-1.838-.197-1.539-1.118l1.07-3.292a1 1 0 00-.364-1.118L2.98 8.72c-.783-.57-.38-1.81.588-1.81h3.461a1 1 0 00.951-.69l1.07-3.292z" />
 											</svg>
 											<span className="text-gray-300 ml-1">
-												{movie.reviewIds &&
-												movie.reviewIds.length > 0
-													? `${movie.reviewIds.length} reviews`
+												{movie.reviewCount > 0
+													? `${movie.reviewCount} reviews`
 													: "No reviews yet"}
 											</span>
 										</div>